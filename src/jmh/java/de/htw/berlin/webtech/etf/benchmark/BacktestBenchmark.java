@@ -0,0 +1,65 @@
+package de.htw.berlin.webtech.etf.benchmark;
+
+import de.htw.berlin.webtech.etf.service.backtest.BacktestEngine;
+import de.htw.berlin.webtech.etf.service.kurs.KursHistorieStore;
+import de.htw.berlin.webtech.etf.service.kurs.KursReihe;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark fuer Backtests auf 50 Jahren Tageskursen (memory-mapped), Sparplan ueber 20 Jahre.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BacktestBenchmark {
+
+    private static final String ISIN = "IE00B4L5Y983";
+    private static final int MONATE = 20 * 12;
+
+    private Path verzeichnis;
+    private KursReihe reihe;
+    private LocalDate start;
+
+    @Setup
+    public void setUp() throws IOException {
+        verzeichnis = Files.createTempDirectory("kurse");
+        KursHistorieStore store = new KursHistorieStore(verzeichnis);
+
+        int tage = 50 * 365;
+        int[] epochDays = new int[tage];
+        double[] kurse = new double[tage];
+        int erster = (int) LocalDate.of(1975, 1, 1).toEpochDay();
+        for (int i = 0; i < tage; i++) {
+            epochDays[i] = erster + i;
+            kurse[i] = 100.0 * Math.exp(0.0002 * i);
+        }
+        store.anhaengen(ISIN, epochDays, kurse, tage);
+        reihe = store.reihe(ISIN);
+        start = LocalDate.of(1990, 1, 1);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> dateien = Files.walk(verzeichnis)) {
+            dateien.sorted(Comparator.reverseOrder()).forEach(datei -> datei.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public BacktestEngine.Ergebnis einzeln() {
+        return BacktestEngine.einzeln(reihe, start, MONATE, 100.0);
+    }
+
+    @Benchmark
+    public BacktestEngine.Rollierend rollierend() {
+        return BacktestEngine.rollierend(reihe, MONATE, 100.0);
+    }
+}
@@ -0,0 +1,60 @@
+package de.htw.berlin.webtech.etf.benchmark;
+
+import de.htw.berlin.webtech.etf.domain.entity.User;
+import de.htw.berlin.webtech.etf.service.auth.JwtPrincipal;
+import de.htw.berlin.webtech.etf.service.auth.JwtService;
+import de.htw.berlin.webtech.etf.service.auth.JwtTokenCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks fuer JwtService: Token erstellen und pruefen.
+ * Die Pruefung laeuft bei jeder authentifizierten Anfrage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-token-generation-must-be-at-least-256-bits-long";
+
+    private JwtService jwtService;
+    private JwtService cachedJwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, JwtTokenCache.disabled());
+        cachedJwtService = new JwtService(SECRET, new JwtTokenCache(true, 10_000));
+        user = User.builder().id(42L).email("benchmark@example.com").build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<JwtPrincipal> verifyToken() {
+        return jwtService.verifyToken(token);
+    }
+
+    @Benchmark
+    public Optional<JwtPrincipal> verifyTokenCached() {
+        return cachedJwtService.verifyToken(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public Long getUserIdFromToken() {
+        return jwtService.getUserIdFromToken(token);
+    }
+}
@@ -0,0 +1,46 @@
+package de.htw.berlin.webtech.etf.benchmark;
+
+import de.htw.berlin.webtech.etf.service.simulation.MonteCarloSimulator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark fuer die Monte-Carlo-Simulation: 100.000 Pfade ueber 40 Jahre.
+ * Zielwert: unter einer Sekunde auf einem normalen Server (alle Kerne).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MonteCarloBenchmark {
+
+    private static final int PFADE = 100_000;
+    private static final int MONATE = 40 * 12;
+
+    private MonteCarloSimulator parallel;
+    private MonteCarloSimulator einThread;
+    private ForkJoinPool einThreadPool;
+
+    @Setup
+    public void setUp() {
+        parallel = new MonteCarloSimulator(ForkJoinPool.commonPool());
+        einThreadPool = new ForkJoinPool(1);
+        einThread = new MonteCarloSimulator(einThreadPool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        einThreadPool.shutdown();
+    }
+
+    @Benchmark
+    public double[] simuliereParallel() {
+        return parallel.simuliere(200.0, MONATE, 0.07, 0.15, PFADE, 42L);
+    }
+
+    @Benchmark
+    public double[] simuliereEinThread() {
+        return einThread.simuliere(200.0, MONATE, 0.07, 0.15, PFADE, 42L);
+    }
+}
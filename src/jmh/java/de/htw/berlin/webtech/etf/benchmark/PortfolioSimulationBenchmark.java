@@ -0,0 +1,39 @@
+package de.htw.berlin.webtech.etf.benchmark;
+
+import de.htw.berlin.webtech.etf.service.simulation.LogHistogramm;
+import de.htw.berlin.webtech.etf.service.simulation.PortfolioSimulator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark fuer die Portfolio-Simulation: 100.000 Pfade, 5 ETFs, 20 Positionen, bis zu 40 Jahre.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PortfolioSimulationBenchmark {
+
+    private static final int PFADE = 100_000;
+    private static final int ETFS = 5;
+
+    private PortfolioSimulator simulator;
+    private List<PortfolioSimulator.Position> positionen;
+
+    @Setup
+    public void setUp() {
+        simulator = new PortfolioSimulator(ForkJoinPool.commonPool());
+        positionen = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            positionen.add(new PortfolioSimulator.Position(i % ETFS, 50.0 + i * 10, (10 + i + i) * 12));
+        }
+    }
+
+    @Benchmark
+    public LogHistogramm simulierePortfolio() {
+        return simulator.simuliere(positionen, ETFS, 0.07, 0.15, 0.8, PFADE, 42L);
+    }
+}
@@ -0,0 +1,32 @@
+package de.htw.berlin.webtech.etf.benchmark;
+
+import de.htw.berlin.webtech.etf.service.projection.ProjectionCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark fuer die Projektions-Mathematik (50 Jahre, monatlich).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProjectionBenchmark {
+
+    private static final int MONATE = 50 * 12;
+
+    private final double[] verlauf = new double[MONATE];
+    private double rate = 200.0;
+    private double monatszins = ProjectionCalculator.monatszins(0.07);
+
+    @Benchmark
+    public double[] verlauf() {
+        ProjectionCalculator.verlauf(rate, monatszins, MONATE, verlauf);
+        return verlauf;
+    }
+
+    @Benchmark
+    public double endwert() {
+        return ProjectionCalculator.endwert(rate, monatszins, MONATE);
+    }
+}
@@ -0,0 +1,48 @@
+package de.htw.berlin.webtech.etf.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.htw.berlin.webtech.etf.domain.dto.SparplanView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark fuer die JSON-Serialisierung der Sparplan-Liste (GET /api/sparplaene).
+ * Serialisiert wird das Lese-Modell SparplanView, wie es der Controller zurueckgibt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SparplanSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int anzahl;
+
+    private ObjectMapper objectMapper;
+    private List<SparplanView> sparplaene;
+
+    @Setup
+    public void setUp() {
+        // Gleiche Grundeinstellungen wie der ObjectMapper von Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        sparplaene = new ArrayList<>(anzahl);
+        for (int i = 0; i < anzahl; i++) {
+            sparplaene.add(new SparplanView((long) i, "MSCI World " + i, new BigDecimal("150.00"), 20,
+                    LocalDate.of(2024, 1, 1), 0L));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(sparplaene);
+    }
+}
@@ -0,0 +1,75 @@
+package de.htw.berlin.webtech.etf.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Second-Level-Cache von Hibernate: Caffeine ueber die JCache-Schnittstelle.
+ *
+ * Die Regionen werden hier mit eigener Groesse und Lebensdauer angelegt
+ * (sparplan.cache.*) und der fertige CacheManager an Hibernate uebergeben.
+ * Ob Hibernate den Cache benutzt, steuert
+ * spring.jpa.properties.hibernate.cache.use_second_level_cache.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    /** Region der User-Entities */
+    public static final String USERS = "users";
+
+    /** Query-Cache fuer UserRepository.findByEmail (Login/Registrierung) */
+    public static final String USERS_BY_EMAIL = "users-by-email";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${sparplan.cache.users.max-size:10000}") long usersMaxSize,
+            @Value("${sparplan.cache.users.ttl:30m}") Duration usersTtl,
+            @Value("${sparplan.cache.users-by-email.max-size:10000}") long usersByEmailMaxSize,
+            @Value("${sparplan.cache.users-by-email.ttl:30m}") Duration usersByEmailTtl
+    ) {
+        // Eigener Provider statt Caching.getCachingProvider(): jeder Anwendungskontext
+        // (z.B. in Tests) bekommt seinen eigenen CacheManager
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+
+        region(cacheManager, USERS, usersMaxSize, usersTtl);
+        region(cacheManager, USERS_BY_EMAIL, usersByEmailMaxSize, usersByEmailTtl);
+        region(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, 1000, Duration.ofMinutes(10));
+        // Zeitstempel der Tabellen entscheiden, ob ein Query-Ergebnis noch gilt:
+        // ein Eintrag pro Tabelle, darf weder verdraengt werden noch ablaufen
+        region(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, Long.MAX_VALUE, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /**
+     * Legt eine Region an. Eintraege werden per Referenz gehalten (kein Kopieren
+     * per Serialisierung) - Hibernate speichert ohnehin unveraenderliche Cache-Eintraege.
+     *
+     * @param ttl Lebensdauer ab dem Schreiben, null = unbegrenzt
+     */
+    private static void region(CacheManager cacheManager, String name, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setStoreByValue(false);
+        if (maxSize < Long.MAX_VALUE) {
+            config.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            config.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        cacheManager.createCache(name, config);
+    }
+}
@@ -0,0 +1,79 @@
+package de.htw.berlin.webtech.etf.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Actuator-Endpoint /actuator/hibernatecache: Trefferquoten des Second-Level-
+ * und Query-Caches, gesamt und pro Region. Grundlage zum Einstellen von
+ * sparplan.cache.* (Groesse und Lebensdauer pro Region).
+ *
+ * Zaehlt nur, wenn hibernate.generate_statistics eingeschaltet ist.
+ */
+@Component
+@Endpoint(id = "hibernatecache")
+public class HibernateCacheEndpoint {
+
+    private final Statistics statistics;
+
+    public HibernateCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public CacheStatistik statistik() {
+        List<RegionStatistik> regionen = new ArrayList<>();
+        String[] namen = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(namen);
+        for (String name : namen) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regionen.add(new RegionStatistik(name,
+                        region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                        quote(region.getHitCount(), region.getMissCount()),
+                        region.getElementCountInMemory()));
+            }
+        }
+
+        return new CacheStatistik(
+                statistics.isStatisticsEnabled(),
+                new Zaehler(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+                        statistics.getSecondLevelCachePutCount(),
+                        quote(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount())),
+                new Zaehler(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                        statistics.getQueryCachePutCount(),
+                        quote(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount())),
+                regionen);
+    }
+
+    /**
+     * Anteil der Treffer an allen Zugriffen, null solange es keine Zugriffe gab.
+     */
+    private static Double quote(long treffer, long fehlgriffe) {
+        long zugriffe = treffer + fehlgriffe;
+        return zugriffe == 0 ? null : (double) treffer / zugriffe;
+    }
+
+    public record CacheStatistik(boolean aktiv, Zaehler secondLevel, Zaehler queryCache,
+                                 List<RegionStatistik> regionen) {
+    }
+
+    public record Zaehler(long treffer, long fehlgriffe, long eintraegeGeschrieben, Double trefferquote) {
+    }
+
+    /**
+     * @param eintraege Aktuelle Anzahl Eintraege (-1 wenn der Provider sie nicht kennt)
+     */
+    public record RegionStatistik(String region, long treffer, long fehlgriffe, long eintraegeGeschrieben,
+                                  Double trefferquote, long eintraege) {
+    }
+}
@@ -0,0 +1,112 @@
+package de.htw.berlin.webtech.etf.config;
+
+import de.htw.berlin.webtech.etf.security.TimedPasswordEncoder;
+import de.htw.berlin.webtech.etf.service.SimulationService;
+import de.htw.berlin.webtech.etf.service.auth.AuthRateLimiter;
+import de.htw.berlin.webtech.etf.service.auth.JwtTokenCache;
+import de.htw.berlin.webtech.etf.service.auth.PasswordHashingService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+
+/**
+ * Metriken fuer die heissen Pfade (Scrape-Endpoint /actuator/prometheus).
+ *
+ * Von Spring Boot kommen bereits:
+ *   http.server.requests              - pro Controller-Endpoint (uri, method, status)
+ *   spring.data.repository.invocations - pro Repository-Methode
+ *   hikaricp.connections.acquire      - Wartezeit auf eine Connection
+ * Hier kommen dazu:
+ *   jwt.authentication                - siehe JwtAuthenticationFilter
+ *   auth.password.hashing             - BCrypt, siehe TimedPasswordEncoder
+ *   executor.* (name=password-hashing) - Auslastung und Warteschlange des Hashing-Pools
+ *   executor.* (name=simulation)      - ForkJoinPool der Monte-Carlo-Simulationen
+ *   jwt.cache.size                    - Eintraege im JwtTokenCache
+ *   jwt.cache.gets (result=hit|miss)  - Trefferquote des JwtTokenCache
+ *   jwt.cache.evictions (cause=size|expired)
+ *   auth.rate.limited                 - mit 429 abgelehnte Auth-Anfragen (AuthRateLimiter)
+ *   db.admission.*                    - Semaphore vor dem Connection-Pool (nur mit virtuellen Threads)
+ *
+ * Histogramme fuer p50/p99 werden in application.properties eingeschaltet
+ * (management.metrics.distribution.percentiles-histogram.*).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Misst jeden Hash-Vorgang, indem der PasswordEncoder umhuellt wird.
+     */
+    @Bean
+    static BeanPostProcessor timedPasswordEncoderPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof PasswordEncoder encoder && !(bean instanceof TimedPasswordEncoder)) {
+                    return new TimedPasswordEncoder(encoder, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder authMetrics(JwtTokenCache tokenCache, PasswordHashingService passwordHashingService,
+                                  AuthRateLimiter rateLimiter) {
+        return registry -> {
+            Gauge.builder("jwt.cache.size", tokenCache, JwtTokenCache::size)
+                    .description("Gepruefte Tokens im JwtTokenCache")
+                    .register(registry);
+            FunctionCounter.builder("jwt.cache.gets", tokenCache, JwtTokenCache::getHits)
+                    .description("Zugriffe auf den JwtTokenCache")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("jwt.cache.gets", tokenCache, JwtTokenCache::getMisses)
+                    .description("Zugriffe auf den JwtTokenCache")
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("jwt.cache.evictions", tokenCache, JwtTokenCache::getEvictions)
+                    .description("Aus dem JwtTokenCache entfernte Eintraege")
+                    .tag("cause", "size")
+                    .register(registry);
+            FunctionCounter.builder("jwt.cache.evictions", tokenCache, JwtTokenCache::getExpirations)
+                    .description("Aus dem JwtTokenCache entfernte Eintraege")
+                    .tag("cause", "expired")
+                    .register(registry);
+            new ExecutorServiceMetrics(passwordHashingService.getExecutor(), "password-hashing", Tags.empty())
+                    .bindTo(registry);
+            FunctionCounter.builder("auth.rate.limited", rateLimiter, AuthRateLimiter::getAbgelehnt)
+                    .description("Vom Rate-Limit abgelehnte Auth-Anfragen")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder simulationMetrics(SimulationService simulationService) {
+        return registry -> new ExecutorServiceMetrics(simulationService.getPool(), "simulation", Tags.empty())
+                .bindTo(registry);
+    }
+
+    @Bean
+    public MeterBinder connectionAdmissionMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof AdmissionControlledDataSource admission) {
+                Gauge.builder("db.admission.waiting", admission, AdmissionControlledDataSource::getWaitingThreads)
+                        .description("Threads, die vor dem Connection-Pool warten")
+                        .register(registry);
+                Gauge.builder("db.admission.available", admission, AdmissionControlledDataSource::getAvailablePermits)
+                        .description("Freie Genehmigungen fuer eine Connection")
+                        .register(registry);
+            }
+        };
+    }
+}
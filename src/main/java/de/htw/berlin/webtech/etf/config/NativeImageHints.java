@@ -0,0 +1,26 @@
+package de.htw.berlin.webtech.etf.config;
+
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Hinweise fuer das GraalVM-Native-Image (./gradlew nativeCompile -Pnative).
+ *
+ * Spring Boot nimmt nur die Migrationen direkt unter db/migration ins Image auf.
+ * Unsere liegen in Unterordnern (common, h2, postgresql - siehe spring.flyway.locations).
+ * Auf der JVM, auch mit AOT, hat das keine Wirkung.
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageHints.Registrar.class)
+public class NativeImageHints {
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources().registerPattern("db/migration/*/*.sql");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package de.htw.berlin.webtech.etf.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Konfiguration fuer den Betrieb mit virtuellen Threads.
+ *
+ * Virtuelle Threads werden ueber spring.threads.virtual.enabled eingeschaltet
+ * (Umgebungsvariable VIRTUAL_THREADS=true). Dann wird die DataSource zusaetzlich
+ * in eine AdmissionControlledDataSource verpackt, damit viele gleichzeitige
+ * Anfragen vor dem kleinen Connection-Pool warten statt darin.
+ *
+ * app.db.admission.enabled   - Semaphore an/aus (Standard: wie virtuelle Threads)
+ * app.db.admission.permits   - Anzahl Genehmigungen (Standard: Hikari maximum-pool-size)
+ * app.db.admission.timeout   - maximale Wartezeit in ms (Standard: Hikari connection-timeout)
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor connectionAdmissionPostProcessor(Environment environment) {
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        boolean enabled = environment.getProperty("app.db.admission.enabled", Boolean.class, virtualThreads);
+        int permits = environment.getProperty("app.db.admission.permits", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long timeout = environment.getProperty("app.db.admission.timeout", Long.class,
+                environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource
+                        && !(bean instanceof AdmissionControlledDataSource)) {
+                    return new AdmissionControlledDataSource(dataSource, permits, timeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
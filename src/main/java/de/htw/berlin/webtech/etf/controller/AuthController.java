@@ -2,37 +2,58 @@ package de.htw.berlin.webtech.etf.controller;
 
 import de.htw.berlin.webtech.etf.domain.entity.User;
 import de.htw.berlin.webtech.etf.repository.UserRepository;
+import de.htw.berlin.webtech.etf.service.auth.AuthRateLimitedException;
+import de.htw.berlin.webtech.etf.service.auth.AuthRateLimiter;
 import de.htw.berlin.webtech.etf.service.auth.JwtService;
+import de.htw.berlin.webtech.etf.service.auth.PasswordHashingRejectedException;
+import de.htw.berlin.webtech.etf.service.auth.PasswordHashingService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller fuer Authentifizierung (Login und Registrierung).
  * Alle Endpoints unter /api/auth/ sind oeffentlich zugaenglich.
+ *
+ * BCrypt laeuft asynchron im PasswordHashingService, damit die Request-Threads
+ * waehrend des Hashens frei bleiben. Ist der Hashing-Pool voll: 503 mit Retry-After.
+ * Was nach dem Hash kommt (Speichern, JWT signieren), laeuft auf dem applicationTaskExecutor,
+ * damit die Hashing-Threads sofort fuer den naechsten Hash frei sind.
+ * Vorher begrenzt der AuthRateLimiter pro IP und Email: zu viele Anfragen -> 429 mit Retry-After.
  */
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
+    private final AuthRateLimiter rateLimiter;
+    private final TaskExecutor taskExecutor;
 
     public AuthController(
             UserRepository userRepository,
-            PasswordEncoder passwordEncoder,
-            JwtService jwtService
+            PasswordHashingService passwordHashingService,
+            JwtService jwtService,
+            AuthRateLimiter rateLimiter,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor
     ) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtService = jwtService;
+        this.rateLimiter = rateLimiter;
+        this.taskExecutor = taskExecutor;
     }
 
     /**
@@ -40,43 +61,50 @@ public class AuthController {
      * Prueft ob Email bereits existiert und hasht das Passwort.
      */
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody RegisterRequest request,
+                                                         HttpServletRequest httpRequest) {
+        rateLimiter.pruefen(httpRequest.getRemoteAddr(), request.email());
+
         // Validate email (null/blank) and normalize
         String rawEmail = request.email();
         if (rawEmail == null || rawEmail.isBlank()) {
-            return ResponseEntity.badRequest().body(error("Email ist erforderlich"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(error("Email ist erforderlich")));
         }
         String email = rawEmail.trim().toLowerCase();
 
         // Validate password
         if (request.password() == null || request.password().length() < 6) {
-            return ResponseEntity.badRequest().body(error("Passwort muss mindestens 6 Zeichen haben"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(error("Passwort muss mindestens 6 Zeichen haben")));
         }
 
         // Check existence using normalized email
         if (userRepository.findByEmail(email).isPresent()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(error("Email ist bereits registriert"));
-        }
-
-        // Create and save new user with normalized email
-        User user = new User();
-        user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(request.password()));
-
-        User savedUser;
-        try {
-            savedUser = userRepository.save(user);
-        } catch (DataIntegrityViolationException e) {
-            // Defensive: in case a unique constraint race occurs in DB
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(error("Email ist bereits registriert"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(error("Email ist bereits registriert")));
         }
 
-        // JWT-Token generieren
-        String token = jwtService.generateToken(savedUser);
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(authResponse(token, savedUser));
+        // Passwort asynchron hashen, danach User mit normalisierter Email speichern
+        return passwordHashingService.encode(request.password()).<ResponseEntity<?>>thenApplyAsync(hash -> {
+            User user = new User();
+            user.setEmail(email);
+            user.setPassword(hash);
+
+            User savedUser;
+            try {
+                savedUser = userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                // Defensive: in case a unique constraint race occurs in DB
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(error("Email ist bereits registriert"));
+            }
+
+            // JWT-Token generieren
+            String token = jwtService.generateToken(savedUser);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(authResponse(token, savedUser));
+        }, taskExecutor);
     }
 
     /**
@@ -84,10 +112,14 @@ public class AuthController {
      * Prueft Email und Passwort, gibt JWT zurueck.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request,
+                                                      HttpServletRequest httpRequest) {
+        rateLimiter.pruefen(httpRequest.getRemoteAddr(), request.email());
+
         // Basic validation
         if (request.email() == null || request.password() == null) {
-            return ResponseEntity.badRequest().body(error("Email und Passwort sind erforderlich"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(error("Email und Passwort sind erforderlich")));
         }
 
         String email = request.email().trim().toLowerCase();
@@ -95,21 +127,24 @@ public class AuthController {
         // Find user by normalized email
         Optional<User> userOptional = userRepository.findByEmail(email);
         if (userOptional.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(error("Email oder Passwort falsch"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(error("Email oder Passwort falsch")));
         }
 
         User user = userOptional.get();
 
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(error("Email oder Passwort falsch"));
-        }
+        return passwordHashingService.matches(request.password(), user.getPassword())
+                .<ResponseEntity<?>>thenApplyAsync(matches -> {
+                    if (!matches) {
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                                .body(error("Email oder Passwort falsch"));
+                    }
 
-        // JWT-Token generieren
-        String token = jwtService.generateToken(user);
+                    // JWT-Token generieren
+                    String token = jwtService.generateToken(user);
 
-        return ResponseEntity.ok(authResponse(token, user));
+                    return ResponseEntity.ok(authResponse(token, user));
+                }, taskExecutor);
     }
 
     /**
@@ -118,35 +153,63 @@ public class AuthController {
      * In Produktion sollte hier ein Token per Email verschickt werden.
      */
     @PostMapping("/reset-password")
-    public ResponseEntity<?> resetPassword(@RequestBody ResetPasswordRequest request) {
+    public CompletableFuture<ResponseEntity<?>> resetPassword(@RequestBody ResetPasswordRequest request,
+                                                              HttpServletRequest httpRequest) {
+        rateLimiter.pruefen(httpRequest.getRemoteAddr(), request.email());
+
         if (request.email() == null || request.email().isBlank()) {
-            return ResponseEntity.badRequest().body(error("Email ist erforderlich"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(error("Email ist erforderlich")));
         }
         if (request.newPassword() == null || request.newPassword().length() < 6) {
-            return ResponseEntity.badRequest().body(error("Passwort muss mindestens 6 Zeichen haben"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(error("Passwort muss mindestens 6 Zeichen haben")));
         }
 
         String email = request.email().trim().toLowerCase();
 
         Optional<User> userOptional = userRepository.findByEmail(email);
         if (userOptional.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(error("E-Mail-Adresse nicht gefunden"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(error("E-Mail-Adresse nicht gefunden")));
         }
 
         User user = userOptional.get();
-        user.setPassword(passwordEncoder.encode(request.newPassword()));
 
-        try {
-            userRepository.save(user);
-        } catch (DataIntegrityViolationException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(error("Fehler beim Speichern des neuen Passworts"));
-        }
+        return passwordHashingService.encode(request.newPassword()).<ResponseEntity<?>>thenApplyAsync(hash -> {
+            user.setPassword(hash);
 
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Passwort erfolgreich geändert");
-        return ResponseEntity.ok(response);
+            try {
+                userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(error("Fehler beim Speichern des neuen Passworts"));
+            }
+
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Passwort erfolgreich geändert");
+            return ResponseEntity.ok(response);
+        }, taskExecutor);
+    }
+
+    /**
+     * Hashing-Pool ausgelastet: 503 statt alle Request-Threads zu blockieren.
+     */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleHashingRejected(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error("Zu viele Anmeldungen gleichzeitig, bitte gleich erneut versuchen"));
+    }
+
+    /**
+     * Zu viele Anfragen von dieser IP oder fuer diese Email: 429 mit Retry-After.
+     */
+    @ExceptionHandler(AuthRateLimitedException.class)
+    public ResponseEntity<Map<String, String>> handleRateLimited(AuthRateLimitedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error("Zu viele Versuche, bitte spaeter erneut versuchen"));
     }
 
     /**
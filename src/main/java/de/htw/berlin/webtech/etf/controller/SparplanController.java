@@ -1,15 +1,47 @@
 package de.htw.berlin.webtech.etf.controller;
 
+import de.htw.berlin.webtech.etf.domain.dto.ImportReport;
+import de.htw.berlin.webtech.etf.domain.dto.KeysetPage;
+import de.htw.berlin.webtech.etf.domain.dto.PortfolioSummary;
+import de.htw.berlin.webtech.etf.domain.dto.ProjectionMilestones;
+import de.htw.berlin.webtech.etf.domain.dto.ProjectionResponse;
+import de.htw.berlin.webtech.etf.domain.dto.SparplanView;
 import de.htw.berlin.webtech.etf.domain.entity.Sparplan;
+import de.htw.berlin.webtech.etf.service.BacktestService;
+import de.htw.berlin.webtech.etf.service.OwnershipResult;
+import de.htw.berlin.webtech.etf.service.ProjectionService;
+import de.htw.berlin.webtech.etf.service.ProjectionSnapshotService;
+import de.htw.berlin.webtech.etf.service.SimulationService;
 import de.htw.berlin.webtech.etf.service.SparplanService;
+import de.htw.berlin.webtech.etf.service.SparplanVersionService;
+import de.htw.berlin.webtech.etf.service.simulation.SimulationRejectedException;
+import de.htw.berlin.webtech.etf.service.transfer.SparplanExportService;
+import de.htw.berlin.webtech.etf.service.transfer.SparplanImportService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Controller fuer Sparplan-Operationen.
@@ -20,38 +52,176 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SparplanController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /** Client darf die Antwort speichern, muss aber vor jeder Verwendung per ETag nachfragen */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final SparplanService service;
+    private final ProjectionService projectionService;
+    private final ProjectionSnapshotService snapshotService;
+    private final SimulationService simulationService;
+    private final BacktestService backtestService;
+    private final SparplanExportService exportService;
+    private final SparplanImportService importService;
+    private final SparplanVersionService versionService;
 
     /**
-     * Holt alle Sparplaene des eingeloggten Users.
+     * Holt die Sparplaene des eingeloggten Users seitenweise (aufsteigend nach id).
+     * Gibt es weitere Eintraege, stehen der Cursor fuer die naechste Seite im
+     * Header X-Next-Cursor und die fertige URL im Link-Header (rel="next").
+     *
+     * Antwortet mit ETag aus dem Aenderungszaehler des Users (Zugriff per Primaerschluessel);
+     * passt If-None-Match, kommt 304 ohne die Seite zu laden.
+     *
+     * @param cursor id des letzten Eintrags der vorherigen Seite (optional)
+     * @param size   Seitengroesse (Standard 100, maximal 500)
      */
     @GetMapping
-    public List<Sparplan> getAllSparplaene(Authentication authentication) {
+    public ResponseEntity<List<SparplanView>> getAllSparplaene(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "" + SparplanService.DEFAULT_PAGE_SIZE) int size,
+            @RequestHeader HttpHeaders headers,
+            Authentication authentication) {
         Long userId = getUserId(authentication);
-        return service.findAllByUserId(userId);
+
+        // Version vor dem Lesen holen: aendert sich danach etwas, passt der ETag beim naechsten Mal nicht
+        String etag = versionService.etag(userId);
+        if (notModified(headers, etag)) {
+            return notModifiedResponse(etag);
+        }
+
+        KeysetPage<SparplanView> page = service.findPageByUserId(userId, cursor, size);
+        return withNextCursor(ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE), page.nextCursor())
+                .body(page.items());
     }
 
     /**
-     * Holt einen einzelnen Sparplan (nur wenn er dem User gehoert).
-     * 404 wenn nicht gefunden, 403 wenn fremder User.
+     * Zusammenfassung aller Sparplaene des eingeloggten Users: Anzahl, Summe der
+     * Raten, kuerzeste/laengste Laufzeit und projizierte Werte, gesamt und pro ETF.
+     * Die Aggregation laeuft in der Datenbank (eine Abfrage).
+     * rendite: nominale Jahresrendite (optional, sonst Standardwert), 400 wenn ungueltig.
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<Sparplan> getSparplan(@PathVariable Long id, Authentication authentication) {
+    @GetMapping("/summary")
+    public ResponseEntity<?> getSummary(
+            @RequestParam(required = false) Double rendite,
+            Authentication authentication) {
         Long userId = getUserId(authentication);
 
-        // Erst pruefen ob der Sparplan dem User gehoert
-        var sparplan = service.findByIdAndUserId(id, userId);
-        if (sparplan.isPresent()) {
-            return ResponseEntity.ok(sparplan.get());
+        try {
+            PortfolioSummary summary = projectionService.zusammenfassen(service.findGruppen(userId), rendite);
+            return ResponseEntity.ok(summary);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
+    }
 
-        // Sparplan existiert, gehoert aber anderem User -> 403
-        if (service.existsById(id)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    /**
+     * Monte-Carlo-Simulation des ganzen Portfolios: alle Sparplaene des Users mit
+     * korrelierten Renditen der verschiedenen ETFs. Liefert Mittelwert sowie 5-, 50-
+     * und 95-Perzentil der Summe aller Endwerte.
+     * Parameter wie bei /{id}/simulation, zusaetzlich korrelation (0 bis 1)
+     * zwischen verschiedenen ETFs. 400 bei ungueltigen Parametern.
+     */
+    @GetMapping("/simulation")
+    public ResponseEntity<?> getPortfolioSimulation(
+            @RequestParam(required = false) Double rendite,
+            @RequestParam(required = false) Double volatilitaet,
+            @RequestParam(required = false) Double korrelation,
+            @RequestParam(required = false) Integer pfade,
+            @RequestParam(required = false) Long seed,
+            Authentication authentication) {
+        Long userId = getUserId(authentication);
+
+        try {
+            return ResponseEntity.ok(simulationService.simulierePortfolio(
+                    service.findGruppen(userId), rendite, volatilitaet, korrelation, pfade, seed));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
+    }
 
-        // Sparplan existiert nicht -> 404
-        return ResponseEntity.notFound().build();
+    /**
+     * Exportiert alle Sparplaene des eingeloggten Users als Datei.
+     * Die Zeilen werden direkt aus der Datenbank in die Response gestreamt,
+     * der Speicherbedarf haengt nicht von der Anzahl der Sparplaene ab.
+     *
+     * @param format ndjson (Standard) oder csv - sonst 400
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSparplaene(
+            @RequestParam(defaultValue = "ndjson") String format,
+            Authentication authentication) {
+        Long userId = getUserId(authentication);
+
+        StreamingResponseBody body;
+        MediaType contentType;
+        switch (format.toLowerCase()) {
+            case "ndjson" -> {
+                body = out -> exportService.exportNdjson(userId, out);
+                contentType = NDJSON;
+            }
+            case "csv" -> {
+                body = out -> exportService.exportCsv(userId, out);
+                contentType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+            }
+            default -> {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("sparplaene." + format.toLowerCase())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+
+    /**
+     * Importiert Sparplaene aus einer Datei (Body = Dateiinhalt, kein Multipart).
+     * Content-Type text/csv (mit Kopfzeile) oder application/x-ndjson.
+     * Ungueltige Zeilen werden uebersprungen und im Report gemeldet;
+     * 400 nur wenn die Datei als Ganzes unbrauchbar ist (z.B. Spalte fehlt).
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importSparplaene(HttpServletRequest request, Authentication authentication)
+            throws IOException {
+        Long userId = getUserId(authentication);
+
+        try {
+            ImportReport report = NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                    ? importService.importNdjson(request.getInputStream(), userId)
+                    : importService.importCsv(request.getInputStream(), userId);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Holt einen einzelnen Sparplan (nur wenn er dem User gehoert).
+     * 404 wenn nicht gefunden, 403 wenn fremder User.
+     *
+     * ETag "<version>": die Version des Sparplans, auch fuer If-Match beim PUT.
+     * Passt If-None-Match, kommt 304 ohne Body.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<SparplanView> getSparplan(
+            @PathVariable Long id,
+            @RequestHeader HttpHeaders headers,
+            Authentication authentication) {
+        Long userId = getUserId(authentication);
+
+        return toResponse(service.findView(id, userId), view -> {
+            String etag = detailEtag(view);
+            if (notModified(headers, etag)) {
+                return notModifiedResponse(etag);
+            }
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(view);
+        });
     }
 
     /**
@@ -59,34 +229,29 @@ public class SparplanController {
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Sparplan createSparplan(@Valid @RequestBody Sparplan sparplan, Authentication authentication) {
+    public SparplanView createSparplan(@Valid @RequestBody Sparplan sparplan, Authentication authentication) {
         Long userId = getUserId(authentication);
-        return service.save(sparplan, userId);
+        return SparplanView.from(service.save(sparplan, userId));
     }
 
     /**
      * Aktualisiert einen bestehenden Sparplan (nur wenn er dem User gehoert).
      * 404 wenn nicht gefunden, 403 wenn fremder User.
+     *
+     * Mit If-Match (ETag aus GET /{id}) wird nur aktualisiert, wenn der Sparplan
+     * noch dieselbe Version hat - sonst 412 und der Client muss neu laden.
+     * Ohne If-Match wird wie bisher ohne Bedingung aktualisiert.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Sparplan> updateSparplan(
+    public ResponseEntity<SparplanView> updateSparplan(
             @PathVariable Long id,
             @Valid @RequestBody Sparplan sparplan,
+            @RequestHeader HttpHeaders headers,
             Authentication authentication) {
         Long userId = getUserId(authentication);
 
-        var updated = service.update(id, sparplan, userId);
-        if (updated.isPresent()) {
-            return ResponseEntity.ok(updated.get());
-        }
-
-        // Sparplan existiert, gehoert aber anderem User -> 403
-        if (service.existsById(id)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
-
-        // Sparplan existiert nicht -> 404
-        return ResponseEntity.notFound().build();
+        return toResponse(service.update(id, sparplan, userId, expectedVersion(headers)),
+                view -> ResponseEntity.ok().eTag(detailEtag(view)).body(view));
     }
 
     /**
@@ -96,20 +261,264 @@ public class SparplanController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSparplan(@PathVariable Long id, Authentication authentication) {
         Long userId = getUserId(authentication);
+        return toResponse(service.deleteByIdAndUserId(id, userId), ignored -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Legt viele Sparplaene auf einmal an (eine Transaktion, JDBC-Batch-Inserts).
+     * Maximal 5000 pro Anfrage; ein ungueltiger Eintrag -> 400, nichts wird gespeichert.
+     */
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<SparplanView> createSparplaene(
+            @Valid @RequestBody BatchCreateRequest request,
+            Authentication authentication) {
+        Long userId = getUserId(authentication);
+        return service.saveAll(request.sparplaene(), userId);
+    }
+
+    /**
+     * Aktualisiert viele Sparplaene auf einmal (alles oder nichts).
+     * Jeder Eintrag braucht eine id. 404 wenn eine id nicht existiert oder fremd ist.
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<?> updateSparplaene(
+            @Valid @RequestBody BatchUpdateRequest request,
+            Authentication authentication) {
+        Long userId = getUserId(authentication);
 
-        if (service.deleteByIdAndUserId(id, userId)) {
-            return ResponseEntity.noContent().build();
+        if (request.sparplaene().stream().anyMatch(sparplan -> sparplan.getId() == null)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Jeder Sparplan braucht eine id"));
         }
+        return toResponse(service.updateAll(request.sparplaene(), userId), ResponseEntity::ok);
+    }
 
-        // Sparplan existiert, gehoert aber anderem User -> 403
-        if (service.existsById(id)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    /**
+     * Loescht viele Sparplaene auf einmal. Fremde oder unbekannte ids werden ignoriert.
+     * Antwort: Anzahl tatsaechlich geloeschter Sparplaene.
+     */
+    @DeleteMapping("/batch")
+    public Map<String, Integer> deleteSparplaene(
+            @Valid @RequestBody BatchDeleteRequest request,
+            Authentication authentication) {
+        Long userId = getUserId(authentication);
+        return Map.of("geloescht", service.deleteAll(request.ids(), userId));
+    }
+
+    /**
+     * Berechnet die Vermoegensentwicklung eines Sparplans (Sparrate + Zinseszins).
+     * rendite: nominale Jahresrendite, z.B. 0.07 (optional, sonst Standardwert).
+     * nurEndwert=true liefert nur den Endwert ohne Monatsverlauf.
+     * 404 wenn nicht gefunden, 403 wenn fremder User, 400 bei ungueltigen Parametern.
+     */
+    @GetMapping("/{id}/projection")
+    public ResponseEntity<?> getProjection(
+            @PathVariable Long id,
+            @RequestParam(required = false) Double rendite,
+            @RequestParam(defaultValue = "false") boolean nurEndwert,
+            Authentication authentication) {
+        Long userId = getUserId(authentication);
+
+        OwnershipResult<SparplanView> sparplan = service.findView(id, userId);
+        if (!sparplan.isOk()) {
+            return denied(sparplan);
         }
 
-        // Sparplan existiert nicht -> 404
+        try {
+            ProjectionResponse projection = projectionService.berechne(sparplan.value(), rendite, nurEndwert);
+            return ResponseEntity.ok(projection);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Monte-Carlo-Simulation des Endwerts mit schwankenden Monatsrenditen.
+     * Liefert Mittelwert sowie 5-, 50- und 95-Perzentil ueber alle Pfade.
+     * Alle Parameter optional (Standardwerte aus der Konfiguration):
+     * rendite (erwartete Jahresrendite), volatilitaet (jaehrlich, z.B. 0.15),
+     * pfade (Anzahl Pfade), seed (gleicher Seed = gleiches Ergebnis).
+     * 404 wenn nicht gefunden, 403 wenn fremder User, 400 bei ungueltigen Parametern.
+     */
+    @GetMapping("/{id}/simulation")
+    public ResponseEntity<?> getSimulation(
+            @PathVariable Long id,
+            @RequestParam(required = false) Double rendite,
+            @RequestParam(required = false) Double volatilitaet,
+            @RequestParam(required = false) Integer pfade,
+            @RequestParam(required = false) Long seed,
+            Authentication authentication) {
+        Long userId = getUserId(authentication);
+
+        OwnershipResult<SparplanView> sparplan = service.findView(id, userId);
+        if (!sparplan.isOk()) {
+            return denied(sparplan);
+        }
+
+        try {
+            return ResponseEntity.ok(simulationService.simuliere(sparplan.value(), rendite, volatilitaet, pfade, seed));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Historischer Backtest: monatliche Kaeufe ueber die Laufzeit auf echten Tageskursen.
+     * modus=einzeln (Standard): ab from (ISO-Datum, Pflicht), mit Wertverlauf.
+     * modus=rollierend: Endwerte fuer jeden moeglichen Startmonat der Kurshistorie.
+     * isin: Kursreihe (optional, sonst ETF ueber den Namen des Sparplans).
+     * 404 wenn nicht gefunden, 403 wenn fremder User, 400 bei fehlenden Kursen oder Parametern.
+     */
+    @PostMapping("/{id}/backtest")
+    public ResponseEntity<?> backtest(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) String isin,
+            @RequestParam(defaultValue = "einzeln") String modus,
+            Authentication authentication) {
+        Long userId = getUserId(authentication);
+
+        OwnershipResult<SparplanView> sparplan = service.findView(id, userId);
+        if (!sparplan.isOk()) {
+            return denied(sparplan);
+        }
+
+        try {
+            return switch (modus) {
+                case "einzeln" -> from == null
+                        ? ResponseEntity.badRequest().body(Map.of("error", "Parameter from fehlt"))
+                        : ResponseEntity.ok(backtestService.einzeln(sparplan.value(), isin, from));
+                case "rollierend" -> ResponseEntity.ok(backtestService.rollierend(sparplan.value(), isin));
+                default -> ResponseEntity.badRequest().body(Map.of("error", "Unbekannter Modus: " + modus));
+            };
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Vorberechnete Projektion in Jahresschritten mit der Standardrendite.
+     * Wird beim Anlegen/Aendern gespeichert, das Lesen ist ein einfacher Zugriff.
+     * 404 wenn nicht gefunden, 403 wenn fremder User, 400 bei zu langer Laufzeit.
+     */
+    @GetMapping("/{id}/projection/jahre")
+    public ResponseEntity<?> getProjectionMilestones(@PathVariable Long id, Authentication authentication) {
+        Long userId = getUserId(authentication);
+
+        try {
+            OwnershipResult<ProjectionMilestones> milestones = snapshotService.find(id, userId);
+            if (!milestones.isOk()) {
+                return denied(milestones);
+            }
+            return ResponseEntity.ok(milestones.value());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Hilfsmethode: Setzt X-Next-Cursor und Link-Header, wenn es eine weitere Seite gibt.
+     */
+    private ResponseEntity.BodyBuilder withNextCursor(ResponseEntity.BodyBuilder builder, Long nextCursor) {
+        if (nextCursor == null) {
+            return builder;
+        }
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", nextCursor)
+                .toUriString();
+        return builder
+                .header(NEXT_CURSOR_HEADER, nextCursor.toString())
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+    }
+
+    /**
+     * Hilfsmethode: true wenn einer der ETags aus If-None-Match (oder *) zum aktuellen passt.
+     * Schwache ETags (W/...) werden wie starke verglichen, wie es RFC 9110 fuer GET vorsieht.
+     */
+    private static boolean notModified(HttpHeaders headers, String etag) {
+        for (String kandidat : headers.getIfNoneMatch()) {
+            String tag = kandidat.startsWith("W/") ? kandidat.substring(2) : kandidat;
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String detailEtag(SparplanView view) {
+        return "\"" + view.version() + "\"";
+    }
+
+    /**
+     * Hilfsmethode: Erwartete Version aus If-Match.
+     * null = keine Bedingung (Header fehlt oder *). Ein ETag, aus dem sich keine
+     * Version lesen laesst (auch ein schwacher), wird zu -1 und fuehrt damit zu 412.
+     */
+    private static Long expectedVersion(HttpHeaders headers) {
+        List<String> ifMatch = headers.getIfMatch();
+        if (ifMatch.isEmpty() || ifMatch.contains("*")) {
+            return null;
+        }
+        String tag = ifMatch.get(0);
+        if (ifMatch.size() > 1 || tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private static <T> ResponseEntity<T> notModifiedResponse(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+    }
+
+    /**
+     * Hilfsmethode: Uebersetzt ein OwnershipResult in die passende Response.
+     * OK -> onOk, Sparplan gehoert anderem User -> 403, existiert nicht -> 404.
+     */
+    private <T, R> ResponseEntity<R> toResponse(OwnershipResult<T> result, Function<T, ResponseEntity<R>> onOk) {
+        if (result.isOk()) {
+            return onOk.apply(result.value());
+        }
+        return denied(result);
+    }
+
+    /**
+     * Hilfsmethode: 403 wenn der Sparplan einem anderen User gehoert,
+     * 412 wenn er nicht die erwartete Version hat, sonst 404.
+     */
+    private <R> ResponseEntity<R> denied(OwnershipResult<?> result) {
+        if (result.status() == OwnershipResult.Status.FORBIDDEN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (result.status() == OwnershipResult.Status.PRECONDITION_FAILED) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * Zu viele Simulationen gleichzeitig: 503 statt den Simulations-Pool zu ueberlasten.
+     */
+    @ExceptionHandler(SimulationRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleSimulationRejected(SimulationRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", "Zu viele Simulationen gleichzeitig, bitte gleich erneut versuchen"));
+    }
+
+    /**
+     * Gleichzeitige Aenderung waehrend eines Batch-Updates (Versionspruefung beim Commit):
+     * 409, nichts wurde gespeichert.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLock(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "Sparplan wurde gleichzeitig geaendert, bitte neu laden"));
+    }
+
     /**
      * Hilfsmethode: Extrahiert User-ID aus Authentication-Objekt.
      * Die User-ID wurde vom JwtAuthenticationFilter in den SecurityContext gesetzt.
@@ -117,5 +526,15 @@ public class SparplanController {
     private Long getUserId(Authentication authentication) {
         return (Long) authentication.getPrincipal();
     }
-}
 
+    // --- Request DTOs als Records ---
+
+    public record BatchCreateRequest(
+            @NotEmpty @Size(max = SparplanService.MAX_BATCH_SIZE) List<@Valid Sparplan> sparplaene) {}
+
+    public record BatchUpdateRequest(
+            @NotEmpty @Size(max = SparplanService.MAX_BATCH_SIZE) List<@Valid Sparplan> sparplaene) {}
+
+    public record BatchDeleteRequest(
+            @NotEmpty @Size(max = SparplanService.MAX_BATCH_SIZE) List<@NotNull Long> ids) {}
+}
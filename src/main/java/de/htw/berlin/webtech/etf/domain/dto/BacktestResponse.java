@@ -0,0 +1,22 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Ergebnis eines historischen Backtests ab einem Startdatum.
+ * verlauf[k] ist der Depotwert direkt nach dem Kauf am kaufdaten[k].
+ * vollstaendig = false, wenn die Kurse vor Ende der Laufzeit aufhoeren.
+ */
+public record BacktestResponse(
+        Long sparplanId,
+        String isin,
+        int kaeufe,
+        boolean vollstaendig,
+        double anteile,
+        double eingezahlt,
+        double endwert,
+        LocalDate bewertetAm,
+        List<LocalDate> kaufdaten,
+        double[] verlauf
+) {}
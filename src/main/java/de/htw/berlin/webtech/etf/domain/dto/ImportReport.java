@@ -0,0 +1,19 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+import java.util.List;
+
+/**
+ * Ergebnis eines Imports.
+ *
+ * @param importiert   Anzahl gespeicherter Sparplaene
+ * @param fehlerhaft   Anzahl abgelehnter Zeilen
+ * @param fehler       Fehler pro Zeile (gekuerzt auf die ersten Eintraege)
+ */
+public record ImportReport(long importiert, long fehlerhaft, List<Fehler> fehler) {
+
+    /**
+     * @param zeile   Zeilennummer in der hochgeladenen Datei (ab 1)
+     * @param meldung Was an der Zeile falsch ist
+     */
+    public record Fehler(long zeile, String meldung) {}
+}
@@ -0,0 +1,11 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+import java.util.List;
+
+/**
+ * Eine Seite einer Keyset-Abfrage.
+ *
+ * @param items      Eintraege dieser Seite, aufsteigend nach id
+ * @param nextCursor id des letzten Eintrags, wenn es weitere Seiten gibt - sonst null
+ */
+public record KeysetPage<T>(List<T> items, Long nextCursor) {}
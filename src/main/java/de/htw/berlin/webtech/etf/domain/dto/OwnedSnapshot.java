@@ -0,0 +1,17 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+import de.htw.berlin.webtech.etf.domain.entity.ProjectionSnapshot;
+
+import java.math.BigDecimal;
+
+/**
+ * Besitzer und aktuelle Eingaben eines Sparplans samt gespeichertem Snapshot.
+ *
+ * @param snapshot null wenn noch keiner berechnet wurde
+ */
+public record OwnedSnapshot(
+        Long ownerId,
+        BigDecimal monatlicheRate,
+        Integer laufzeitJahre,
+        ProjectionSnapshot snapshot
+) {}
@@ -0,0 +1,24 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lese-Modell eines Sparplans zusammen mit der User-ID des Besitzers.
+ * Damit reicht eine Abfrage, um zwischen 200, 403 und 404 zu unterscheiden.
+ * Nur intern - die ownerId geht nicht an den Client.
+ */
+public record OwnedSparplanView(
+        Long ownerId,
+        Long id,
+        String etfName,
+        BigDecimal monatlicheRate,
+        Integer laufzeitJahre,
+        LocalDate erstelltAm,
+        Long version
+) {
+
+    public SparplanView view() {
+        return new SparplanView(id, etfName, monatlicheRate, laufzeitJahre, erstelltAm, version);
+    }
+}
@@ -0,0 +1,22 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+/**
+ * Ergebnis der Portfolio-Simulation: Verteilung der Summe aller Endwerte.
+ * Die Perzentile stammen aus einem Histogramm (relativer Fehler ca. 0.2 %).
+ * nichtSimuliert zaehlt Sparplaene mit ungueltiger Laufzeit, die nicht mitgerechnet wurden.
+ */
+public record PortfolioSimulationResponse(
+        long anzahlSparplaene,
+        int anzahlEtfs,
+        double jahresRendite,
+        double volatilitaet,
+        double korrelation,
+        int pfade,
+        long seed,
+        double eingezahlt,
+        double mittelwert,
+        double p5,
+        double p50,
+        double p95,
+        long nichtSimuliert
+) {}
@@ -0,0 +1,37 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Zusammenfassung aller Sparplaene eines Users.
+ * eingezahlt und endwert sind Projektionen bis zum Ende der jeweiligen Laufzeit.
+ * Laufzeiten sind null, wenn der User keine Sparplaene hat.
+ * nichtProjiziert zaehlt Sparplaene mit ungueltiger Laufzeit (aelter als die Obergrenze
+ * von 100 Jahren), die in keiner der anderen Zahlen enthalten sind.
+ */
+public record PortfolioSummary(
+        long anzahl,
+        BigDecimal monatlicheRateGesamt,
+        Integer minLaufzeitJahre,
+        Integer maxLaufzeitJahre,
+        double jahresRendite,
+        double eingezahlt,
+        double endwert,
+        List<EtfSummary> etfs,
+        long nichtProjiziert
+) {
+
+    /**
+     * Dieselben Kennzahlen fuer alle Sparplaene auf einen ETF.
+     */
+    public record EtfSummary(
+            String etfName,
+            long anzahl,
+            BigDecimal monatlicheRate,
+            int minLaufzeitJahre,
+            int maxLaufzeitJahre,
+            double eingezahlt,
+            double endwert
+    ) {}
+}
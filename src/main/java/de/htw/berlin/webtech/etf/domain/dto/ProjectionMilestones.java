@@ -0,0 +1,14 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+/**
+ * Vorberechnete Projektion eines Sparplans in Jahresschritten.
+ * jahreswerte[j] ist der Depotwert am Ende von Jahr j + 1.
+ */
+public record ProjectionMilestones(
+        Long sparplanId,
+        double jahresRendite,
+        int jahre,
+        double eingezahlt,
+        double endwert,
+        double[] jahreswerte
+) {}
@@ -0,0 +1,17 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Ergebnis einer Sparplan-Projektion.
+ * verlauf enthaelt den Depotwert nach jedem Monat und fehlt, wenn nur der Endwert angefragt wurde.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProjectionResponse(
+        Long sparplanId,
+        double jahresRendite,
+        int monate,
+        double eingezahlt,
+        double endwert,
+        double[] verlauf
+) {}
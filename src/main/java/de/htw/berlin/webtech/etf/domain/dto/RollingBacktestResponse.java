@@ -0,0 +1,20 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Backtest fuer jeden moeglichen Startmonat: endwerte[i] ist der Endwert bei
+ * erstem Kauf am startdaten[i]. min/median/max fassen alle Startmonate zusammen.
+ */
+public record RollingBacktestResponse(
+        Long sparplanId,
+        String isin,
+        int monate,
+        double eingezahlt,
+        double min,
+        double median,
+        double max,
+        List<LocalDate> startdaten,
+        double[] endwerte
+) {}
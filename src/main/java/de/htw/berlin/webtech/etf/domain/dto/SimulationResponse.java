@@ -0,0 +1,18 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+/**
+ * Ergebnis einer Monte-Carlo-Simulation: Verteilung des Endwerts ueber alle Pfade.
+ * p5/p50/p95: 5 %, 50 % und 95 % der Pfade enden bei hoechstens diesem Wert.
+ */
+public record SimulationResponse(
+        Long sparplanId,
+        double jahresRendite,
+        double volatilitaet,
+        int pfade,
+        long seed,
+        double eingezahlt,
+        double mittelwert,
+        double p5,
+        double p50,
+        double p95
+) {}
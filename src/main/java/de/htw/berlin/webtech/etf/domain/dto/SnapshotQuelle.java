@@ -0,0 +1,13 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Die Felder eines Sparplans, die fuer einen Projektions-Snapshot noetig sind.
+ */
+public record SnapshotQuelle(
+        Long sparplanId,
+        Long userId,
+        BigDecimal monatlicheRate,
+        Integer laufzeitJahre
+) {}
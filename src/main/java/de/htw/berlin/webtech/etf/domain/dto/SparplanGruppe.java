@@ -0,0 +1,14 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregat aller Sparplaene eines Users mit gleichem ETF und gleicher Laufzeit.
+ * Ergebnis der GROUP-BY-Abfrage fuer die Portfolio-Zusammenfassung.
+ */
+public record SparplanGruppe(
+        String etfName,
+        Integer laufzeitJahre,
+        Long anzahl,
+        BigDecimal summeMonatlicheRate
+) {}
@@ -0,0 +1,35 @@
+package de.htw.berlin.webtech.etf.domain.dto;
+
+import de.htw.berlin.webtech.etf.domain.entity.Sparplan;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lese-Modell eines Sparplans fuer die API.
+ * Wird direkt per Konstruktor-Ausdruck aus der Datenbank gelesen - kein
+ * verwaltetes Entity, kein Dirty-Checking, kein User-Proxy.
+ */
+public record SparplanView(
+        Long id,
+        String etfName,
+        BigDecimal monatlicheRate,
+        Integer laufzeitJahre,
+        LocalDate erstelltAm,
+        Long version
+) {
+
+    /**
+     * Wandelt ein Entity (z.B. nach dem Speichern) in das Lese-Modell um.
+     */
+    public static SparplanView from(Sparplan sparplan) {
+        return new SparplanView(
+                sparplan.getId(),
+                sparplan.getEtfName(),
+                sparplan.getMonatlicheRate(),
+                sparplan.getLaufzeitJahre(),
+                sparplan.getErstelltAm(),
+                sparplan.getVersion()
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package de.htw.berlin.webtech.etf.domain.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Speichert ein double[] kompakt als Binaerspalte (8 Byte pro Wert, little endian).
+ * Portabel zwischen H2 und PostgreSQL, ohne Array-Typen der Datenbank.
+ */
+@Converter
+public class DoubleArrayConverter implements AttributeConverter<double[], byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(double[] werte) {
+        if (werte == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(werte.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asDoubleBuffer().put(werte);
+        return buffer.array();
+    }
+
+    @Override
+    public double[] convertToEntityAttribute(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        double[] werte = new double[bytes.length / Double.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(werte);
+        return werte;
+    }
+}
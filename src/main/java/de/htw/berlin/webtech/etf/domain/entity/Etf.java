@@ -0,0 +1,37 @@
+package de.htw.berlin.webtech.etf.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ETF-Stammdaten. Die ISIN ist der natuerliche Schluessel und verbindet den ETF
+ * mit seiner Kurshistorie im KursHistorieStore.
+ */
+@Entity
+@Table(name = "etfs", indexes = @Index(name = "idx_etfs_name", columnList = "name"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Etf {
+
+    public static final String ISIN_PATTERN = "[A-Z]{2}[A-Z0-9]{9}[0-9]";
+
+    @Id
+    @Pattern(regexp = ISIN_PATTERN, message = "Ungueltige ISIN")
+    @Column(length = 12)
+    private String isin;
+
+    @NotBlank(message = "Name ist erforderlich")
+    @Size(max = 200)
+    @Column(nullable = false)
+    private String name;
+}
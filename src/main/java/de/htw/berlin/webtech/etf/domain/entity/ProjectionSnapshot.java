@@ -0,0 +1,62 @@
+package de.htw.berlin.webtech.etf.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Vorberechnete Projektion eines Sparplans: Depotwert am Ende jedes Jahres.
+ *
+ * Eine Zeile pro Sparplan (Primaerschluessel = sparplanId), geschrieben beim
+ * Anlegen/Aendern des Sparplans und geloescht mit ihm. Gespeichert wird auch,
+ * aus welchen Eingaben (Rendite, Rate, Laufzeit) gerechnet wurde - weichen sie
+ * vom aktuellen Stand ab, ist der Snapshot veraltet und wird neu berechnet.
+ *
+ * Bewusst ohne Fremdschluessel auf sparplaene: Bulk-DELETEs muessen so keine
+ * Reihenfolge einhalten.
+ */
+@Entity
+@Table(name = "projection_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionSnapshot {
+
+    @Id
+    @Column(name = "sparplan_id")
+    private Long sparplanId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private double jahresRendite;
+
+    @Column(nullable = false)
+    private BigDecimal monatlicheRate;
+
+    @Column(nullable = false)
+    private Integer laufzeitJahre;
+
+    @Column(nullable = false)
+    private double eingezahlt;
+
+    @Column(nullable = false)
+    private double endwert;
+
+    /** Depotwert am Ende von Jahr 1..laufzeitJahre */
+    @Convert(converter = DoubleArrayConverter.class)
+    @Column(nullable = false, length = 100 * Double.BYTES)
+    private double[] jahreswerte;
+
+    @Column(nullable = false)
+    private Instant berechnetAm;
+}
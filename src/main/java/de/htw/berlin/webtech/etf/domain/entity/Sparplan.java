@@ -1,6 +1,7 @@
 package de.htw.berlin.webtech.etf.domain.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
@@ -10,6 +11,11 @@ import lombok.AllArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+/**
+ * Nicht im Second-Level-Cache: gelesen wird nur ueber DTO-Projektionen (SparplanView),
+ * geschrieben meist per Bulk-UPDATE/DELETE - ein Cache wuerde nur Puts und Invalidierungen kosten.
+ * Der Index (user_id, id) fuer die Besitzer-Abfragen wird per Flyway angelegt (db/migration).
+ */
 @Entity
 @Table(name = "sparplaene")
 @Data
@@ -17,8 +23,13 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class Sparplan {
 
+    /**
+     * Sequenz mit allocationSize 50: Hibernate holt 50 IDs pro Sequenz-Aufruf
+     * und kann Inserts als JDBC-Batch senden (mit IDENTITY geht das nicht).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sparplan_seq")
+    @SequenceGenerator(name = "sparplan_seq", sequenceName = "sparplaene_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -41,11 +52,22 @@ public class Sparplan {
 
     @NotNull(message = "Laufzeit ist erforderlich")
     @Min(value = 1, message = "Laufzeit muss mindestens 1 Jahr sein")
+    @Max(value = 100, message = "Laufzeit darf hoechstens 100 Jahre sein")
     private Integer laufzeitJahre;
 
     @Column(updatable = false)
     private LocalDate erstelltAm;
 
+    /**
+     * Optimistische Sperre: steigt mit jeder Aenderung (auch bei updateOwned).
+     * Geht als ETag an den Client und kommt per If-Match zurueck.
+     * READ_ONLY: ein mitgeschickter Wert im Request-Body wird ignoriert.
+     */
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         erstelltAm = LocalDate.now();
@@ -0,0 +1,32 @@
+package de.htw.berlin.webtech.etf.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aenderungszaehler der Sparplaene eines Users - Grundlage der ETags fuer GET /api/sparplaene.
+ *
+ * Eine Zeile pro User (Primaerschluessel = userId), angelegt bei der ersten Aenderung.
+ * Jede Aenderung an den Sparplaenen erhoeht stand per Bulk-UPDATE in derselben
+ * Transaktion. Bewusst eine eigene Tabelle statt einer Spalte in users: ein Bulk-UPDATE
+ * auf users wuerde die Cache-Regionen der User (Login) jedes Mal leeren.
+ */
+@Entity
+@Table(name = "sparplan_staende")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SparplanStand {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long stand;
+}
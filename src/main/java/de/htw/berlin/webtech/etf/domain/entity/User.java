@@ -14,6 +14,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -21,9 +23,11 @@ import java.time.LocalDateTime;
  * User-Entity: Repraesentiert einen registrierten Benutzer.
  * email ist UNIQUE - keine doppelten User moeglich.
  * password wird verschluesselt gespeichert (BCrypt).
+ * Liegt im Second-Level-Cache (Region "users"), siehe HibernateCacheConfig.
  */
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,16 @@
+package de.htw.berlin.webtech.etf.repository;
+
+import de.htw.berlin.webtech.etf.domain.entity.Etf;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface EtfRepository extends JpaRepository<Etf, String> {
+
+    /**
+     * Findet einen ETF ueber seinen Namen (z.B. aus Sparplan.etfName).
+     */
+    Optional<Etf> findFirstByNameIgnoreCase(String name);
+}
@@ -0,0 +1,64 @@
+package de.htw.berlin.webtech.etf.repository;
+
+import de.htw.berlin.webtech.etf.domain.dto.OwnedSnapshot;
+import de.htw.berlin.webtech.etf.domain.dto.SnapshotQuelle;
+import de.htw.berlin.webtech.etf.domain.entity.ProjectionSnapshot;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProjectionSnapshotRepository extends JpaRepository<ProjectionSnapshot, Long> {
+
+    /**
+     * Besitzer und aktuelle Werte eines Sparplans samt Snapshot (falls vorhanden).
+     * Eine Abfrage ueber den Primaerschluessel - entscheidet 403/404 und ob der
+     * Snapshot noch zum Sparplan passt.
+     */
+    @Query("""
+            select new de.htw.berlin.webtech.etf.domain.dto.OwnedSnapshot(
+                s.user.id, s.monatlicheRate, s.laufzeitJahre, p)
+            from Sparplan s
+            left join ProjectionSnapshot p on p.sparplanId = s.id
+            where s.id = :id""")
+    Optional<OwnedSnapshot> findOwnedById(@Param("id") Long id);
+
+    /**
+     * Sparplaene ohne aktuellen Snapshot (fehlt oder mit anderen Eingaben gerechnet),
+     * aufsteigend nach id ab afterId - fuer den Neuaufbau in Bloecken.
+     */
+    @Query("""
+            select new de.htw.berlin.webtech.etf.domain.dto.SnapshotQuelle(
+                s.id, s.user.id, s.monatlicheRate, s.laufzeitJahre)
+            from Sparplan s
+            where s.id > :afterId
+              and not exists (
+                select 1 from ProjectionSnapshot p
+                where p.sparplanId = s.id
+                  and p.jahresRendite = :rendite
+                  and p.monatlicheRate = s.monatlicheRate
+                  and p.laufzeitJahre = s.laufzeitJahre)
+            order by s.id""")
+    List<SnapshotQuelle> findVeraltet(@Param("rendite") double rendite, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Loescht den Snapshot eines Sparplans (nur wenn er dem User gehoert).
+     */
+    @Modifying
+    @Query("delete from ProjectionSnapshot p where p.sparplanId = :sparplanId and p.userId = :userId")
+    int deleteOwned(@Param("sparplanId") Long sparplanId, @Param("userId") Long userId);
+
+    /**
+     * Loescht die Snapshots aller Sparplaene aus ids, die dem User gehoeren.
+     */
+    @Modifying
+    @Query("delete from ProjectionSnapshot p where p.userId = :userId and p.sparplanId in :ids")
+    int deleteOwnedIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+}
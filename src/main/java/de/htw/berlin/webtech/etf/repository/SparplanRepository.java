@@ -1,25 +1,146 @@
 package de.htw.berlin.webtech.etf.repository;
 
+import de.htw.berlin.webtech.etf.domain.dto.OwnedSparplanView;
+import de.htw.berlin.webtech.etf.domain.dto.SparplanGruppe;
+import de.htw.berlin.webtech.etf.domain.dto.SparplanView;
 import de.htw.berlin.webtech.etf.domain.entity.Sparplan;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SparplanRepository extends JpaRepository<Sparplan, Long> {
 
     /**
-     * Findet alle Sparplaene eines Users.
-     * Wird verwendet um nur die eigenen Sparplaene anzuzeigen.
+     * Keyset-Pagination: die naechsten Sparplaene eines Users mit id > afterId.
+     * Jede Seite kostet gleich viel, egal wie weit hinten sie liegt (kein OFFSET).
+     * Liefert direkt das Lese-Modell statt verwalteter Entities.
      */
-    List<Sparplan> findByUserId(Long userId);
+    @Query("""
+            select new de.htw.berlin.webtech.etf.domain.dto.SparplanView(
+                s.id, s.etfName, s.monatlicheRate, s.laufzeitJahre, s.erstelltAm, s.version)
+            from Sparplan s
+            where s.user.id = :userId and s.id > :afterId
+            order by s.id""")
+    List<SparplanView> findViewPage(@Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit);
 
     /**
-     * Findet einen Sparplan nur wenn er dem User gehoert.
-     * Verhindert Zugriff auf fremde Sparplaene.
+     * Alle Sparplaene eines Users als Stream ueber einen JDBC-Cursor (fuer den Export).
+     * Die Zeilen werden in Bloecken von 500 geholt statt alle auf einmal.
+     * Nur innerhalb einer Transaktion verwenden und danach schliessen.
      */
-    Optional<Sparplan> findByIdAndUserId(Long id, Long userId);
-}
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new de.htw.berlin.webtech.etf.domain.dto.SparplanView(
+                s.id, s.etfName, s.monatlicheRate, s.laufzeitJahre, s.erstelltAm, s.version)
+            from Sparplan s
+            where s.user.id = :userId
+            order by s.id""")
+    Stream<SparplanView> streamViewsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Anzahl und Summe der Raten pro (ETF, Laufzeit) - Grundlage der Portfolio-Zusammenfassung.
+     * Eine Abfrage, die Anzahl Ergebniszeilen haengt nur von den verschiedenen
+     * ETF/Laufzeit-Kombinationen ab, nicht von der Anzahl Sparplaene.
+     */
+    @Query("""
+            select new de.htw.berlin.webtech.etf.domain.dto.SparplanGruppe(
+                s.etfName, s.laufzeitJahre, count(s), sum(s.monatlicheRate))
+            from Sparplan s
+            where s.user.id = :userId
+            group by s.etfName, s.laufzeitJahre
+            order by s.etfName, s.laufzeitJahre""")
+    List<SparplanGruppe> summarizeByUserId(@Param("userId") Long userId);
+
+    /**
+     * Lese-Modell eines Sparplans, nur wenn er dem User gehoert.
+     */
+    @Query("""
+            select new de.htw.berlin.webtech.etf.domain.dto.SparplanView(
+                s.id, s.etfName, s.monatlicheRate, s.laufzeitJahre, s.erstelltAm, s.version)
+            from Sparplan s
+            where s.id = :id and s.user.id = :userId""")
+    Optional<SparplanView> findViewByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Lese-Modell samt Besitzer - eine Abfrage fuer 200/403/404.
+     */
+    @Query("""
+            select new de.htw.berlin.webtech.etf.domain.dto.OwnedSparplanView(
+                s.user.id, s.id, s.etfName, s.monatlicheRate, s.laufzeitJahre, s.erstelltAm, s.version)
+            from Sparplan s
+            where s.id = :id""")
+    Optional<OwnedSparplanView> findOwnedViewById(@Param("id") Long id);
+
+    /**
+     * Aktualisiert einen Sparplan nur wenn er dem User gehoert.
+     * Die Version wird dabei hochgezaehlt.
+     *
+     * @return Anzahl geaenderter Zeilen (0 oder 1)
+     */
+    @Modifying
+    @Query("""
+            update Sparplan s
+            set s.etfName = :etfName, s.monatlicheRate = :monatlicheRate, s.laufzeitJahre = :laufzeitJahre,
+                s.version = s.version + 1
+            where s.id = :id and s.user.id = :userId""")
+    int updateOwned(@Param("id") Long id,
+                    @Param("userId") Long userId,
+                    @Param("etfName") String etfName,
+                    @Param("monatlicheRate") BigDecimal monatlicheRate,
+                    @Param("laufzeitJahre") Integer laufzeitJahre);
 
+    /**
+     * Wie updateOwned, aber nur wenn der Sparplan noch die erwartete Version hat
+     * (optimistische Sperre ohne Row-Lock ueber die Anfrage hinaus).
+     *
+     * @return Anzahl geaenderter Zeilen (0 oder 1)
+     */
+    @Modifying
+    @Query("""
+            update Sparplan s
+            set s.etfName = :etfName, s.monatlicheRate = :monatlicheRate, s.laufzeitJahre = :laufzeitJahre,
+                s.version = s.version + 1
+            where s.id = :id and s.user.id = :userId and s.version = :version""")
+    int updateOwnedIfVersion(@Param("id") Long id,
+                             @Param("userId") Long userId,
+                             @Param("version") Long version,
+                             @Param("etfName") String etfName,
+                             @Param("monatlicheRate") BigDecimal monatlicheRate,
+                             @Param("laufzeitJahre") Integer laufzeitJahre);
+
+    /**
+     * Loescht einen Sparplan nur wenn er dem User gehoert.
+     *
+     * @return Anzahl geloeschter Zeilen (0 oder 1)
+     */
+    @Modifying
+    @Query("delete from Sparplan s where s.id = :id and s.user.id = :userId")
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Alle Sparplaene aus ids, die dem User gehoeren (fuer Batch-Updates).
+     */
+    List<Sparplan> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    /**
+     * Loescht alle Sparplaene aus ids, die dem User gehoeren - ein einziges DELETE.
+     *
+     * @return Anzahl geloeschter Zeilen
+     */
+    @Modifying
+    @Query("delete from Sparplan s where s.user.id = :userId and s.id in :ids")
+    int deleteOwnedIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,30 @@
+package de.htw.berlin.webtech.etf.repository;
+
+import de.htw.berlin.webtech.etf.domain.entity.SparplanStand;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SparplanStandRepository extends JpaRepository<SparplanStand, Long> {
+
+    /**
+     * Aktueller Zaehlerstand des Users (leer, solange er nichts geaendert hat).
+     */
+    @Query("select s.stand from SparplanStand s where s.userId = :userId")
+    Optional<Long> findStand(@Param("userId") Long userId);
+
+    /**
+     * Erhoeht den Zaehler des Users um 1 - nur innerhalb einer Transaktion verwenden.
+     * Die Zeile bleibt bis zum Commit gesperrt, Aenderungen eines Users laufen damit nacheinander.
+     *
+     * @return Anzahl geaenderter Zeilen (0 wenn der User noch keinen Zaehler hat)
+     */
+    @Modifying
+    @Query("update SparplanStand s set s.stand = s.stand + 1 where s.userId = :userId")
+    int erhoehen(@Param("userId") Long userId);
+}
@@ -1,7 +1,11 @@
 package de.htw.berlin.webtech.etf.repository;
 
+import de.htw.berlin.webtech.etf.config.HibernateCacheConfig;
 import de.htw.berlin.webtech.etf.domain.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -17,10 +21,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     /**
      * Findet einen User anhand seiner Email.
      * Wird beim LOGIN verwendet, um den User zu authentifizieren.
+     * Das Ergebnis liegt im Query-Cache (nur die id), der User selbst im
+     * Second-Level-Cache - wiederholte Logins kommen ohne SQL aus. Jede
+     * Aenderung an der Tabelle users macht die Query-Ergebnisse ungueltig.
      *
      * @param email Die Email-Adresse
      * @return Optional<User> - leer wenn nicht gefunden
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.USERS_BY_EMAIL)
+    })
     Optional<User> findByEmail(String email);
 
     /**
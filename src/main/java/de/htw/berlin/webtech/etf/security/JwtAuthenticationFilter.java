@@ -1,6 +1,9 @@
 package de.htw.berlin.webtech.etf.security;
 
+import de.htw.berlin.webtech.etf.service.auth.JwtPrincipal;
 import de.htw.berlin.webtech.etf.service.auth.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,18 +16,34 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Filter der bei jeder Anfrage den JWT-Token prueft.
  * Liest den Token aus dem Authorization-Header und validiert ihn.
+ * Die Dauer der Pruefung landet im Timer jwt.authentication (result=valid|invalid).
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String TIMER = "jwt.authentication";
+
     private final JwtService jwtService;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
 
-    public JwtAuthenticationFilter(JwtService jwtService) {
+    public JwtAuthenticationFilter(JwtService jwtService, MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
+        this.validTimer = timer(meterRegistry, "valid");
+        this.invalidTimer = timer(meterRegistry, "invalid");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder(TIMER)
+                .description("Pruefung des JWT im Authorization-Header")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
     @Override
@@ -46,17 +65,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Token extrahieren (ohne "Bearer " Prefix)
         String token = authHeader.substring(7);
 
-        // Token validieren
-        if (jwtService.validateToken(token)) {
-            Long userId = jwtService.getUserIdFromToken(token);
-            String email = jwtService.getEmailFromToken(token);
-
+        // Token mit einer einzigen Signaturpruefung validieren und auslesen
+        long start = System.nanoTime();
+        Optional<JwtPrincipal> principal = jwtService.verifyToken(token);
+        Timer timer = principal.isPresent() ? validTimer : invalidTimer;
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (principal.isPresent()) {
             // Authentication-Objekt erstellen und im SecurityContext setzen
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
-                            userId,          // Principal (User-ID)
-                            email,           // Credentials (Email)
-                            Collections.emptyList()  // Authorities (leer fuer jetzt)
+                            principal.get().userId(),   // Principal (User-ID)
+                            principal.get().email(),    // Credentials (Email)
+                            Collections.emptyList()     // Authorities (leer fuer jetzt)
                     );
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -1,7 +1,12 @@
 package de.htw.berlin.webtech.etf.security;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -25,9 +30,11 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final Environment environment;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, Environment environment) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.environment = environment;
     }
 
     @Bean
@@ -50,6 +57,14 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/public/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
+                // Health-Check des Hosters (ohne JWT)
+                .requestMatchers("/livez", "/readyz", "/actuator/health").permitAll()
+                // Uebrige Actuator-Endpoints (Prometheus, Cache-Statistik) nur ohne JWT,
+                // wenn sie auf dem eigenen, nicht oeffentlichen Management-Port liegen
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).access(
+                    ManagementPortType.get(environment) == ManagementPortType.DIFFERENT
+                        ? (authentication, context) -> new AuthorizationDecision(true)
+                        : AuthenticatedAuthorizationManager.authenticated())
 
                 // Alle anderen Endpoints erfordern Authentifizierung
                 .anyRequest().authenticated()
@@ -106,6 +121,9 @@ public class SecurityConfig {
         // Erlaubte Headers
         configuration.setAllowedHeaders(List.of("*"));
 
+        // Fuer das Frontend lesbare Response-Headers (Pagination, ETag)
+        configuration.setExposedHeaders(List.of("X-Next-Cursor", "Link", "ETag"));
+
         // Credentials erlauben (fuer Cookies/Auth-Header)
         configuration.setAllowCredentials(true);
 
@@ -0,0 +1,91 @@
+package de.htw.berlin.webtech.etf.service;
+
+import de.htw.berlin.webtech.etf.domain.dto.BacktestResponse;
+import de.htw.berlin.webtech.etf.domain.dto.RollingBacktestResponse;
+import de.htw.berlin.webtech.etf.domain.dto.SparplanView;
+import de.htw.berlin.webtech.etf.domain.entity.Etf;
+import de.htw.berlin.webtech.etf.repository.EtfRepository;
+import de.htw.berlin.webtech.etf.service.backtest.BacktestEngine;
+import de.htw.berlin.webtech.etf.service.kurs.KursHistorieStore;
+import de.htw.berlin.webtech.etf.service.kurs.KursReihe;
+import de.htw.berlin.webtech.etf.service.projection.SparplanParameter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Historische Backtests eines Sparplans auf den Kursen aus dem KursHistorieStore.
+ */
+@Service
+@RequiredArgsConstructor
+public class BacktestService {
+
+    private final EtfRepository etfRepository;
+    private final KursHistorieStore kursHistorieStore;
+
+    /**
+     * Backtest ab einem Startdatum ueber die Laufzeit des Sparplans.
+     *
+     * @param isin ISIN der Kursreihe oder null - dann wird der ETF ueber den Namen gesucht
+     * @throws IllegalArgumentException wenn ETF oder Kurse fehlen
+     */
+    public BacktestResponse einzeln(SparplanView sparplan, String isin, LocalDate von) {
+        String etf = isin(sparplan, isin);
+        BacktestEngine.Ergebnis ergebnis = BacktestEngine.einzeln(
+                kurse(etf), von, SparplanParameter.monate(sparplan.laufzeitJahre()),
+                sparplan.monatlicheRate().doubleValue());
+
+        return new BacktestResponse(sparplan.id(), etf, ergebnis.kaeufe(), ergebnis.vollstaendig(),
+                ergebnis.anteile(), ergebnis.eingezahlt(), ergebnis.endwert(),
+                LocalDate.ofEpochDay(ergebnis.bewertungTag()),
+                daten(ergebnis.kaufTage()), ergebnis.verlauf());
+    }
+
+    /**
+     * Backtests fuer alle Startmonate der Kurshistorie in einem Durchgang.
+     *
+     * @param isin ISIN der Kursreihe oder null - dann wird der ETF ueber den Namen gesucht
+     * @throws IllegalArgumentException wenn ETF oder Kurse fehlen oder die Historie zu kurz ist
+     */
+    public RollingBacktestResponse rollierend(SparplanView sparplan, String isin) {
+        String etf = isin(sparplan, isin);
+        int monate = SparplanParameter.monate(sparplan.laufzeitJahre());
+        double rate = sparplan.monatlicheRate().doubleValue();
+        BacktestEngine.Rollierend ergebnis = BacktestEngine.rollierend(kurse(etf), monate, rate);
+
+        double[] sortiert = ergebnis.endwerte().clone();
+        Arrays.sort(sortiert);
+        double median = sortiert.length % 2 == 1
+                ? sortiert[sortiert.length / 2]
+                : (sortiert[sortiert.length / 2 - 1] + sortiert[sortiert.length / 2]) / 2.0;
+
+        return new RollingBacktestResponse(sparplan.id(), etf, monate, rate * monate,
+                sortiert[0], median, sortiert[sortiert.length - 1],
+                daten(ergebnis.startTage()), ergebnis.endwerte());
+    }
+
+    private String isin(SparplanView sparplan, String isin) {
+        if (isin != null && !isin.isBlank()) {
+            return isin.trim().toUpperCase();
+        }
+        return etfRepository.findFirstByNameIgnoreCase(sparplan.etfName().trim())
+                .map(Etf::getIsin)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Kein ETF mit Namen '" + sparplan.etfName() + "' bekannt - bitte isin angeben"));
+    }
+
+    private KursReihe kurse(String isin) {
+        KursReihe reihe = kursHistorieStore.reihe(isin);
+        if (reihe.isEmpty()) {
+            throw new IllegalArgumentException("Keine Kurse fuer " + isin + " vorhanden");
+        }
+        return reihe;
+    }
+
+    private static List<LocalDate> daten(int[] epochDays) {
+        return Arrays.stream(epochDays).mapToObj(LocalDate::ofEpochDay).toList();
+    }
+}
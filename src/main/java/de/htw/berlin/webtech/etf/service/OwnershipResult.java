@@ -0,0 +1,38 @@
+package de.htw.berlin.webtech.etf.service;
+
+/**
+ * Ergebnis eines Zugriffs auf einen Sparplan, der einem bestimmten User gehoeren muss.
+ *
+ * @param status OK, FORBIDDEN (gehoert anderem User), NOT_FOUND oder
+ *               PRECONDITION_FAILED (gehoert dem User, hat aber nicht die erwartete Version)
+ * @param value  Ergebnis bei OK, sonst null
+ */
+public record OwnershipResult<T>(Status status, T value) {
+
+    public enum Status {
+        OK,
+        FORBIDDEN,
+        NOT_FOUND,
+        PRECONDITION_FAILED
+    }
+
+    public static <T> OwnershipResult<T> ok(T value) {
+        return new OwnershipResult<>(Status.OK, value);
+    }
+
+    public static <T> OwnershipResult<T> forbidden() {
+        return new OwnershipResult<>(Status.FORBIDDEN, null);
+    }
+
+    public static <T> OwnershipResult<T> notFound() {
+        return new OwnershipResult<>(Status.NOT_FOUND, null);
+    }
+
+    public static <T> OwnershipResult<T> preconditionFailed() {
+        return new OwnershipResult<>(Status.PRECONDITION_FAILED, null);
+    }
+
+    public boolean isOk() {
+        return status == Status.OK;
+    }
+}
@@ -0,0 +1,152 @@
+package de.htw.berlin.webtech.etf.service;
+
+import de.htw.berlin.webtech.etf.domain.dto.PortfolioSummary;
+import de.htw.berlin.webtech.etf.domain.dto.PortfolioSummary.EtfSummary;
+import de.htw.berlin.webtech.etf.domain.dto.ProjectionMilestones;
+import de.htw.berlin.webtech.etf.domain.dto.ProjectionResponse;
+import de.htw.berlin.webtech.etf.domain.dto.SparplanGruppe;
+import de.htw.berlin.webtech.etf.domain.dto.SparplanView;
+import de.htw.berlin.webtech.etf.service.projection.ProjectionCalculator;
+import de.htw.berlin.webtech.etf.service.projection.SparplanParameter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Berechnet die Vermoegensentwicklung (Sparrate + Zinseszins) eines Sparplans.
+ */
+@Service
+public class ProjectionService {
+
+    // Angenommene Jahresrendite, wenn der Client keine mitschickt
+    private final double standardRendite;
+
+    public ProjectionService(@Value("${sparplan.projection.rendite:0.07}") double standardRendite) {
+        this.standardRendite = standardRendite;
+    }
+
+    public double getStandardRendite() {
+        return standardRendite;
+    }
+
+    /**
+     * Projiziert einen Sparplan Monat fuer Monat.
+     *
+     * @param sparplan      Der Sparplan
+     * @param jahresRendite Nominale Jahresrendite oder null fuer den Standardwert
+     * @param nurEndwert    true = nur geschlossene Formel, kein Monatsverlauf
+     * @throws IllegalArgumentException bei ungueltiger Rendite oder zu langer Laufzeit
+     */
+    public ProjectionResponse berechne(SparplanView sparplan, Double jahresRendite, boolean nurEndwert) {
+        double rendite = rendite(jahresRendite);
+
+        int monate = SparplanParameter.monate(sparplan.laufzeitJahre());
+        double rate = sparplan.monatlicheRate().doubleValue();
+        double monatszins = ProjectionCalculator.monatszins(rendite);
+
+        double[] verlauf = null;
+        double endwert;
+        if (nurEndwert) {
+            endwert = ProjectionCalculator.endwert(rate, monatszins, monate);
+        } else {
+            verlauf = new double[monate];
+            ProjectionCalculator.verlauf(rate, monatszins, monate, verlauf);
+            endwert = verlauf[monate - 1];
+        }
+
+        return new ProjectionResponse(sparplan.id(), rendite, monate, rate * monate, endwert, verlauf);
+    }
+
+    /**
+     * Depotwert am Ende jedes Jahres mit der Standardrendite (fuer Projektions-Snapshots).
+     *
+     * @throws IllegalArgumentException bei zu langer Laufzeit
+     */
+    public ProjectionMilestones berechneJahreswerte(Long sparplanId, BigDecimal monatlicheRate, Integer laufzeitJahre) {
+        int monate = SparplanParameter.monate(laufzeitJahre);
+        double rate = monatlicheRate.doubleValue();
+
+        double[] jahreswerte = new double[laufzeitJahre];
+        ProjectionCalculator.jahreswerte(rate, ProjectionCalculator.monatszins(standardRendite), laufzeitJahre, jahreswerte);
+
+        return new ProjectionMilestones(sparplanId, standardRendite, laufzeitJahre,
+                rate * monate, jahreswerte[laufzeitJahre - 1], jahreswerte);
+    }
+
+    /**
+     * Fasst die nach ETF und Laufzeit gruppierten Sparplaene eines Users zusammen.
+     * Der Endwert ist linear in der Rate - pro Gruppe reicht daher eine
+     * Auswertung der geschlossenen Formel mit der Summe der Raten.
+     *
+     * Sparplaene mit ungueltiger Laufzeit (aus der Zeit vor der Obergrenze) werden
+     * nicht mitgerechnet, sondern nur in nichtProjiziert gezaehlt - ein alter
+     * Eintrag soll nicht die ganze Zusammenfassung verhindern.
+     *
+     * @param gruppen       Ergebnis von SparplanRepository.summarizeByUserId (sortiert nach ETF)
+     * @param jahresRendite Nominale Jahresrendite oder null fuer den Standardwert
+     * @throws IllegalArgumentException bei ungueltiger Rendite
+     */
+    public PortfolioSummary zusammenfassen(List<SparplanGruppe> gruppen, Double jahresRendite) {
+        double rendite = rendite(jahresRendite);
+        double monatszins = ProjectionCalculator.monatszins(rendite);
+
+        List<EtfSummary> etfs = new ArrayList<>();
+        long anzahl = 0;
+        long nichtProjiziert = 0;
+        BigDecimal rateGesamt = BigDecimal.ZERO;
+        Integer minLaufzeit = null;
+        Integer maxLaufzeit = null;
+        double eingezahltGesamt = 0;
+        double endwertGesamt = 0;
+
+        // Gruppen kommen nach ETF sortiert - aufeinanderfolgende Zeilen gehoeren zum selben ETF
+        int i = 0;
+        while (i < gruppen.size()) {
+            String etfName = gruppen.get(i).etfName();
+            long etfAnzahl = 0;
+            BigDecimal etfRate = BigDecimal.ZERO;
+            int etfMin = Integer.MAX_VALUE;
+            int etfMax = Integer.MIN_VALUE;
+            double etfEingezahlt = 0;
+            double etfEndwert = 0;
+
+            for (; i < gruppen.size() && gruppen.get(i).etfName().equals(etfName); i++) {
+                SparplanGruppe gruppe = gruppen.get(i);
+                if (!SparplanParameter.gueltigeLaufzeit(gruppe.laufzeitJahre())) {
+                    nichtProjiziert += gruppe.anzahl();
+                    continue;
+                }
+                int monate = SparplanParameter.monate(gruppe.laufzeitJahre());
+                double summeRate = gruppe.summeMonatlicheRate().doubleValue();
+
+                etfAnzahl += gruppe.anzahl();
+                etfRate = etfRate.add(gruppe.summeMonatlicheRate());
+                etfMin = Math.min(etfMin, gruppe.laufzeitJahre());
+                etfMax = Math.max(etfMax, gruppe.laufzeitJahre());
+                etfEingezahlt += summeRate * monate;
+                etfEndwert += ProjectionCalculator.endwert(summeRate, monatszins, monate);
+            }
+            if (etfAnzahl == 0) {
+                continue;
+            }
+
+            etfs.add(new EtfSummary(etfName, etfAnzahl, etfRate, etfMin, etfMax, etfEingezahlt, etfEndwert));
+            anzahl += etfAnzahl;
+            rateGesamt = rateGesamt.add(etfRate);
+            minLaufzeit = minLaufzeit == null ? etfMin : Math.min(minLaufzeit, etfMin);
+            maxLaufzeit = maxLaufzeit == null ? etfMax : Math.max(maxLaufzeit, etfMax);
+            eingezahltGesamt += etfEingezahlt;
+            endwertGesamt += etfEndwert;
+        }
+
+        return new PortfolioSummary(anzahl, rateGesamt, minLaufzeit, maxLaufzeit, rendite,
+                eingezahltGesamt, endwertGesamt, etfs, nichtProjiziert);
+    }
+
+    private double rendite(Double jahresRendite) {
+        return SparplanParameter.rendite(jahresRendite != null ? jahresRendite : standardRendite);
+    }
+}
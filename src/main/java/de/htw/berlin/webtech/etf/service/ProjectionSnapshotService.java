@@ -0,0 +1,248 @@
+package de.htw.berlin.webtech.etf.service;
+
+import de.htw.berlin.webtech.etf.domain.dto.OwnedSnapshot;
+import de.htw.berlin.webtech.etf.domain.dto.ProjectionMilestones;
+import de.htw.berlin.webtech.etf.domain.dto.SnapshotQuelle;
+import de.htw.berlin.webtech.etf.domain.entity.ProjectionSnapshot;
+import de.htw.berlin.webtech.etf.repository.ProjectionSnapshotRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Verwaltet die vorberechneten Projektionen (ProjectionSnapshot) der Sparplaene.
+ *
+ * - SparplanService schreibt Snapshots beim Anlegen/Aendern in derselben
+ *   Transaktion und loescht sie beim Loeschen
+ * - Lesen ist ein einziger Zugriff ueber den Primaerschluessel; fehlt der
+ *   Snapshot oder passt er nicht mehr zum Sparplan, wird er neu berechnet
+ * - nach dem Start baut ein Hintergrund-Job alle veralteten Snapshots neu auf
+ *   (z.B. wenn sich sparplan.projection.rendite geaendert hat)
+ */
+@Slf4j
+@Service
+public class ProjectionSnapshotService {
+
+    /** Sparplaene pro Transaktion beim Neuaufbau */
+    static final int REBUILD_BATCH_SIZE = 500;
+
+    private final ProjectionSnapshotRepository repository;
+    private final ProjectionService projectionService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final boolean rebuildOnStart;
+
+    public ProjectionSnapshotService(
+            ProjectionSnapshotRepository repository,
+            ProjectionService projectionService,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+            @Value("${sparplan.projection.rebuild-on-start:true}") boolean rebuildOnStart) {
+        this.repository = repository;
+        this.projectionService = projectionService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.rebuildOnStart = rebuildOnStart;
+    }
+
+    /**
+     * Projektion eines Sparplans in Jahresschritten (nur wenn er dem User gehoert).
+     * Normalfall: eine Abfrage, keine Rechnung. Ein fehlender oder veralteter
+     * Snapshot wird berechnet und gespeichert.
+     *
+     * @throws IllegalArgumentException wenn die Laufzeit nicht projiziert werden kann
+     */
+    public OwnershipResult<ProjectionMilestones> find(Long id, Long userId) {
+        OwnedSnapshot owned = repository.findOwnedById(id).orElse(null);
+        if (owned == null) {
+            return OwnershipResult.notFound();
+        }
+        if (!owned.ownerId().equals(userId)) {
+            return OwnershipResult.forbidden();
+        }
+
+        SnapshotQuelle quelle = new SnapshotQuelle(id, userId, owned.monatlicheRate(), owned.laufzeitJahre());
+        if (owned.snapshot() != null && istAktuell(owned.snapshot(), quelle)) {
+            return OwnershipResult.ok(toMilestones(owned.snapshot()));
+        }
+
+        ProjectionMilestones milestones = projectionService.berechneJahreswerte(
+                id, quelle.monatlicheRate(), quelle.laufzeitJahre());
+        try {
+            transactionTemplate.executeWithoutResult(status -> aktualisieren(List.of(quelle)));
+        } catch (DataAccessException e) {
+            // z.B. parallele Anfrage hat den Snapshot gerade angelegt - das Ergebnis gilt trotzdem
+            log.debug("Snapshot fuer Sparplan {} nicht gespeichert", id, e);
+        }
+        return OwnershipResult.ok(milestones);
+    }
+
+    /**
+     * Legt Snapshots fuer neue Sparplaene an (ohne vorher nachzusehen).
+     * Laeuft in der Transaktion des Aufrufers; die Inserts gehen mit den
+     * Sparplan-Inserts als JDBC-Batch raus.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void anlegen(SnapshotQuelle quelle) {
+        ProjectionSnapshot snapshot = berechne(quelle);
+        if (snapshot != null) {
+            entityManager.persist(snapshot);
+        }
+    }
+
+    /**
+     * Berechnet die Snapshots geaenderter Sparplaene neu (eine Abfrage fuer alle).
+     * Laeuft in der Transaktion des Aufrufers.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void aktualisieren(Collection<SnapshotQuelle> quellen) {
+        Map<Long, ProjectionSnapshot> vorhanden = repository
+                .findAllById(quellen.stream().map(SnapshotQuelle::sparplanId).toList())
+                .stream()
+                .collect(Collectors.toMap(ProjectionSnapshot::getSparplanId, Function.identity()));
+
+        for (SnapshotQuelle quelle : quellen) {
+            ProjectionSnapshot neu = berechne(quelle);
+            ProjectionSnapshot alt = vorhanden.get(quelle.sparplanId());
+            if (neu == null) {
+                // Laufzeit nicht projizierbar - kein Snapshot, Lesen liefert 400
+                if (alt != null) {
+                    entityManager.remove(alt);
+                }
+            } else if (alt == null) {
+                entityManager.persist(neu);
+            } else {
+                alt.setUserId(neu.getUserId());
+                alt.setJahresRendite(neu.getJahresRendite());
+                alt.setMonatlicheRate(neu.getMonatlicheRate());
+                alt.setLaufzeitJahre(neu.getLaufzeitJahre());
+                alt.setEingezahlt(neu.getEingezahlt());
+                alt.setEndwert(neu.getEndwert());
+                alt.setJahreswerte(neu.getJahreswerte());
+                alt.setBerechnetAm(neu.getBerechnetAm());
+            }
+        }
+    }
+
+    /**
+     * Loescht den Snapshot eines Sparplans. Laeuft in der Transaktion des Aufrufers.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void entfernen(Long sparplanId, Long userId) {
+        repository.deleteOwned(sparplanId, userId);
+    }
+
+    /**
+     * Loescht die Snapshots mehrerer Sparplaene. Laeuft in der Transaktion des Aufrufers.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void entfernenAlle(Collection<Long> sparplanIds, Long userId) {
+        repository.deleteOwnedIn(userId, sparplanIds);
+    }
+
+    /**
+     * Berechnet alle fehlenden oder veralteten Snapshots neu, in Bloecken zu
+     * REBUILD_BATCH_SIZE mit je einer eigenen Transaktion.
+     *
+     * @return Anzahl gepruefter Sparplaene
+     */
+    public long neuAufbauen() {
+        double rendite = projectionService.getStandardRendite();
+        long anzahl = 0;
+        long afterId = 0;
+        while (true) {
+            List<SnapshotQuelle> block = repository.findVeraltet(rendite, afterId, Limit.of(REBUILD_BATCH_SIZE));
+            if (block.isEmpty()) {
+                return anzahl;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                aktualisieren(block);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            anzahl += block.size();
+            afterId = block.get(block.size() - 1).sparplanId();
+        }
+    }
+
+    /**
+     * Startet den Neuaufbau nach dem Start im Hintergrund, damit der Start nicht wartet.
+     * Abschaltbar mit sparplan.projection.rebuild-on-start=false.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void neuAufbauenNachStart() {
+        if (!rebuildOnStart) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                long anzahl = neuAufbauen();
+                if (anzahl > 0) {
+                    log.info("{} Projektions-Snapshots neu berechnet", anzahl);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Neuaufbau der Projektions-Snapshots fehlgeschlagen", e);
+            }
+        });
+    }
+
+    private ProjectionSnapshot berechne(SnapshotQuelle quelle) {
+        ProjectionMilestones milestones;
+        try {
+            milestones = projectionService.berechneJahreswerte(
+                    quelle.sparplanId(), quelle.monatlicheRate(), quelle.laufzeitJahre());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return new ProjectionSnapshot(
+                quelle.sparplanId(),
+                quelle.userId(),
+                milestones.jahresRendite(),
+                quelle.monatlicheRate(),
+                quelle.laufzeitJahre(),
+                milestones.eingezahlt(),
+                milestones.endwert(),
+                milestones.jahreswerte(),
+                Instant.now()
+        );
+    }
+
+    private boolean istAktuell(ProjectionSnapshot snapshot, SnapshotQuelle quelle) {
+        return snapshot.getJahresRendite() == projectionService.getStandardRendite()
+                && snapshot.getMonatlicheRate().compareTo(quelle.monatlicheRate()) == 0
+                && snapshot.getLaufzeitJahre().equals(quelle.laufzeitJahre());
+    }
+
+    private static ProjectionMilestones toMilestones(ProjectionSnapshot snapshot) {
+        return new ProjectionMilestones(
+                snapshot.getSparplanId(),
+                snapshot.getJahresRendite(),
+                snapshot.getLaufzeitJahre(),
+                snapshot.getEingezahlt(),
+                snapshot.getEndwert(),
+                snapshot.getJahreswerte()
+        );
+    }
+}
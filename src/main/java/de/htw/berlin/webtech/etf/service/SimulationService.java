@@ -0,0 +1,221 @@
+package de.htw.berlin.webtech.etf.service;
+
+import de.htw.berlin.webtech.etf.domain.dto.PortfolioSimulationResponse;
+import de.htw.berlin.webtech.etf.domain.dto.SimulationResponse;
+import de.htw.berlin.webtech.etf.domain.dto.SparplanGruppe;
+import de.htw.berlin.webtech.etf.domain.dto.SparplanView;
+import de.htw.berlin.webtech.etf.service.projection.SparplanParameter;
+import de.htw.berlin.webtech.etf.service.simulation.LogHistogramm;
+import de.htw.berlin.webtech.etf.service.simulation.MonteCarloSimulator;
+import de.htw.berlin.webtech.etf.service.simulation.PortfolioSimulator;
+import de.htw.berlin.webtech.etf.service.simulation.SimulationRejectedException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Risiko-Simulation eines Sparplans: statt eines einzigen Endwerts die
+ * Bandbreite moeglicher Endwerte bei schwankenden Renditen.
+ *
+ * Die Pfade laufen auf einem eigenen ForkJoinPool, nicht auf dem commonPool,
+ * den auch parallele Streams und CompletableFutures benutzen. Wie beim
+ * PasswordHashingService laufen hoechstens max-gleichzeitig Simulationen;
+ * weitere werden sofort mit SimulationRejectedException abgelehnt (-> 503 mit Retry-After).
+ *
+ * Die Arbeit einer Portfolio-Simulation waechst mit Pfade x Monate x (ETFs + Positionen).
+ * Liegt sie ueber max-arbeit (oder gibt es mehr als max-etfs verschiedene ETFs),
+ * wird die Anfrage mit 400 abgelehnt, bevor sie den Pool belegt.
+ */
+@Service
+public class SimulationService {
+
+    private final ForkJoinPool pool;
+    private final Semaphore plaetze;
+    private final int retryAfterSeconds;
+    private final MonteCarloSimulator simulator;
+    private final PortfolioSimulator portfolioSimulator;
+
+    private final ProjectionService projectionService;
+    private final double standardVolatilitaet;
+    private final double standardKorrelation;
+    private final int standardPfade;
+    private final int maxPfade;
+    private final int maxEtfs;
+    private final long maxArbeit;
+    private final long standardSeed;
+
+    public SimulationService(
+            ProjectionService projectionService,
+            @Value("${sparplan.simulation.volatilitaet:0.15}") double standardVolatilitaet,
+            @Value("${sparplan.simulation.korrelation:0.8}") double standardKorrelation,
+            @Value("${sparplan.simulation.pfade:10000}") int standardPfade,
+            @Value("${sparplan.simulation.max-pfade:200000}") int maxPfade,
+            @Value("${sparplan.simulation.max-etfs:50}") int maxEtfs,
+            @Value("${sparplan.simulation.max-arbeit:2000000000}") long maxArbeit,
+            @Value("${sparplan.simulation.seed:42}") long standardSeed,
+            @Value("${sparplan.simulation.threads:0}") int threads,
+            @Value("${sparplan.simulation.max-gleichzeitig:2}") int maxGleichzeitig,
+            @Value("${sparplan.simulation.retry-after-seconds:1}") int retryAfterSeconds) {
+        int parallelitaet = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelitaet);
+        this.plaetze = new Semaphore(Math.max(1, maxGleichzeitig));
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.simulator = new MonteCarloSimulator(pool);
+        this.portfolioSimulator = new PortfolioSimulator(pool);
+        this.projectionService = projectionService;
+        this.standardVolatilitaet = standardVolatilitaet;
+        this.standardKorrelation = standardKorrelation;
+        this.standardPfade = standardPfade;
+        this.maxPfade = maxPfade;
+        this.maxEtfs = maxEtfs;
+        this.maxArbeit = maxArbeit;
+        this.standardSeed = standardSeed;
+    }
+
+    /**
+     * Simuliert den Endwert eines Sparplans.
+     * Nicht angegebene Parameter (null) kommen aus der Konfiguration; gleicher
+     * Seed liefert immer dasselbe Ergebnis.
+     *
+     * @throws IllegalArgumentException bei ungueltigen Parametern oder zu langer Laufzeit
+     */
+    public SimulationResponse simuliere(SparplanView sparplan, Double jahresRendite, Double volatilitaet,
+                                        Integer pfade, Long seed) {
+        double rendite = rendite(jahresRendite);
+        double vola = volatilitaet(volatilitaet);
+        int anzahl = pfade(pfade);
+        long startwert = seed != null ? seed : standardSeed;
+
+        int monate = SparplanParameter.monate(sparplan.laufzeitJahre());
+        double rate = sparplan.monatlicheRate().doubleValue();
+        double[] endwerte = begrenzt(() -> simulator.simuliere(rate, monate, rendite, vola, anzahl, startwert));
+
+        double summe = 0.0;
+        for (double endwert : endwerte) {
+            summe += endwert;
+        }
+        double[] p = MonteCarloSimulator.perzentile(endwerte, 0.05, 0.50, 0.95);
+
+        return new SimulationResponse(sparplan.id(), rendite, vola, anzahl, startwert,
+                rate * monate, summe / anzahl, p[0], p[1], p[2]);
+    }
+
+    /**
+     * Simuliert das ganze Portfolio eines Users mit korrelierten ETF-Renditen.
+     * Sparplaene mit gleichem ETF und gleicher Laufzeit werden zu einer Position
+     * zusammengefasst (sie verlaufen identisch); jeder ETF-Name ist ein eigener Faktor.
+     * Sparplaene mit ungueltiger Laufzeit (aus der Zeit vor der Obergrenze) werden
+     * uebersprungen und in nichtSimuliert gezaehlt.
+     *
+     * @param gruppen     Ergebnis von SparplanRepository.summarizeByUserId
+     * @param korrelation Korrelation zwischen verschiedenen ETFs (0 bis 1) oder null fuer den Standardwert
+     * @throws IllegalArgumentException bei ungueltigen Parametern, zu vielen ETFs
+     *                                  oder wenn die Simulation mehr als max-arbeit Schritte braucht
+     */
+    public PortfolioSimulationResponse simulierePortfolio(List<SparplanGruppe> gruppen, Double jahresRendite,
+                                                          Double volatilitaet, Double korrelation,
+                                                          Integer pfade, Long seed) {
+        double rendite = rendite(jahresRendite);
+        double vola = volatilitaet(volatilitaet);
+        double rho = korrelation != null ? korrelation : standardKorrelation;
+        int anzahl = pfade(pfade);
+        long startwert = seed != null ? seed : standardSeed;
+        if (Double.isNaN(rho) || rho < 0.0 || rho > 1.0) {
+            throw new IllegalArgumentException("Korrelation muss zwischen 0 und 1 liegen");
+        }
+
+        Map<String, Integer> etfIndex = new HashMap<>();
+        List<PortfolioSimulator.Position> positionen = new ArrayList<>(gruppen.size());
+        long anzahlSparplaene = 0;
+        long nichtSimuliert = 0;
+        double eingezahlt = 0.0;
+        int maxMonate = 0;
+        for (SparplanGruppe gruppe : gruppen) {
+            if (!SparplanParameter.gueltigeLaufzeit(gruppe.laufzeitJahre())) {
+                nichtSimuliert += gruppe.anzahl();
+                continue;
+            }
+            int monate = SparplanParameter.monate(gruppe.laufzeitJahre());
+            double rate = gruppe.summeMonatlicheRate().doubleValue();
+            int etf = etfIndex.computeIfAbsent(gruppe.etfName(), name -> etfIndex.size());
+            if (etfIndex.size() > maxEtfs) {
+                throw new IllegalArgumentException(
+                        "Portfolio-Simulation mit hoechstens " + maxEtfs + " verschiedenen ETFs moeglich");
+            }
+            maxMonate = Math.max(maxMonate, monate);
+            positionen.add(new PortfolioSimulator.Position(etf, rate, monate));
+            anzahlSparplaene += gruppe.anzahl();
+            eingezahlt += rate * monate;
+        }
+
+        if (positionen.isEmpty()) {
+            return new PortfolioSimulationResponse(0, 0, rendite, vola, rho, anzahl, startwert, 0, 0, 0, 0, 0,
+                    nichtSimuliert);
+        }
+        long arbeit = (long) anzahl * maxMonate * (etfIndex.size() + positionen.size());
+        if (arbeit > maxArbeit) {
+            long moeglich = Math.max(1, maxArbeit / ((long) maxMonate * (etfIndex.size() + positionen.size())));
+            throw new IllegalArgumentException("Simulation zu aufwendig fuer dieses Portfolio - hoechstens "
+                    + moeglich + " Pfade moeglich");
+        }
+
+        LogHistogramm histogramm = begrenzt(() -> portfolioSimulator.simuliere(
+                positionen, etfIndex.size(), rendite, vola, rho, anzahl, startwert));
+
+        return new PortfolioSimulationResponse(anzahlSparplaene, etfIndex.size(), rendite, vola, rho,
+                anzahl, startwert, eingezahlt, histogramm.getMittelwert(),
+                histogramm.perzentil(0.05), histogramm.perzentil(0.50), histogramm.perzentil(0.95),
+                nichtSimuliert);
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Fuehrt eine Simulation aus, wenn ein Platz frei ist - sonst sofort ablehnen statt zu warten.
+     */
+    private <T> T begrenzt(Supplier<T> simulation) {
+        if (!plaetze.tryAcquire()) {
+            throw new SimulationRejectedException(retryAfterSeconds);
+        }
+        try {
+            return simulation.get();
+        } finally {
+            plaetze.release();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private double rendite(Double jahresRendite) {
+        return SparplanParameter.rendite(jahresRendite != null ? jahresRendite : projectionService.getStandardRendite());
+    }
+
+    private double volatilitaet(Double volatilitaet) {
+        double vola = volatilitaet != null ? volatilitaet : standardVolatilitaet;
+        if (Double.isNaN(vola) || vola < 0.0 || vola > 1.0) {
+            throw new IllegalArgumentException("Volatilitaet muss zwischen 0 und 1 liegen");
+        }
+        return vola;
+    }
+
+    private int pfade(Integer pfade) {
+        int anzahl = pfade != null ? pfade : standardPfade;
+        if (anzahl < 1 || anzahl > maxPfade) {
+            throw new IllegalArgumentException("Anzahl Pfade muss zwischen 1 und " + maxPfade + " liegen");
+        }
+        return anzahl;
+    }
+}
@@ -1,79 +1,249 @@
 package de.htw.berlin.webtech.etf.service;
 
+import de.htw.berlin.webtech.etf.domain.dto.KeysetPage;
+import de.htw.berlin.webtech.etf.domain.dto.SnapshotQuelle;
+import de.htw.berlin.webtech.etf.domain.dto.SparplanGruppe;
+import de.htw.berlin.webtech.etf.domain.dto.SparplanView;
 import de.htw.berlin.webtech.etf.domain.entity.Sparplan;
 import de.htw.berlin.webtech.etf.domain.entity.User;
 import de.htw.berlin.webtech.etf.repository.SparplanRepository;
 import de.htw.berlin.webtech.etf.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class SparplanService {
 
+    /** Standard- und Maximalgroesse einer Seite bei GET /api/sparplaene */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /** Maximale Anzahl Sparplaene pro Batch-Anfrage */
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    /** Nach so vielen Inserts wird geflusht und der Persistence Context geleert (= hibernate.jdbc.batch_size) */
+    private static final int FLUSH_INTERVAL = 50;
+
     private final SparplanRepository repository;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ProjectionSnapshotService snapshotService;
+    private final SparplanVersionService versionService;
 
     /**
-     * Findet alle Sparplaene eines bestimmten Users.
-     * User sieht nur seine eigenen Sparplaene.
+     * Alle Sparplaene eines Users gruppiert nach ETF und Laufzeit (eine Abfrage).
      */
-    public List<Sparplan> findAllByUserId(Long userId) {
-        return repository.findByUserId(userId);
+    @Transactional(readOnly = true)
+    public List<SparplanGruppe> findGruppen(Long userId) {
+        return repository.summarizeByUserId(userId);
     }
 
     /**
-     * Findet einen Sparplan nur wenn er dem User gehoert.
+     * Findet eine Seite der Sparplaene eines Users (Keyset auf id).
+     * Es wird ein Eintrag mehr gelesen als noetig, um zu erkennen ob es weitergeht.
+     *
+     * @param cursor id des letzten Eintrags der vorherigen Seite (null = erste Seite)
+     * @param size   Seitengroesse, wird auf 1..MAX_PAGE_SIZE begrenzt
      */
-    public Optional<Sparplan> findByIdAndUserId(Long id, Long userId) {
-        return repository.findByIdAndUserId(id, userId);
+    @Transactional(readOnly = true)
+    public KeysetPage<SparplanView> findPageByUserId(Long userId, Long cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long after = cursor != null ? cursor : 0L;
+
+        List<SparplanView> rows = repository.findViewPage(userId, after, Limit.of(limit + 1));
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<SparplanView> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, items.get(limit - 1).id());
     }
 
     /**
-     * Prueft ob ein Sparplan existiert (unabhaengig vom User).
+     * Lese-Modell eines Sparplans, nur wenn er dem User gehoert.
+     * Eine einzige Abfrage liefert Daten und Besitzer - damit ist auch
+     * 403 vs. 404 ohne zweiten Round-Trip entschieden.
+     * Read-only: Hibernate spart sich Snapshot und Dirty-Checking.
      */
-    public boolean existsById(Long id) {
-        return repository.existsById(id);
+    @Transactional(readOnly = true)
+    public OwnershipResult<SparplanView> findView(Long id, Long userId) {
+        return repository.findOwnedViewById(id)
+                .map(owned -> owned.ownerId().equals(userId)
+                        ? OwnershipResult.ok(owned.view())
+                        : OwnershipResult.<SparplanView>forbidden())
+                .orElseGet(OwnershipResult::notFound);
     }
 
     /**
-     * Erstellt einen neuen Sparplan fuer den angegebenen User.
+     * Erstellt einen neuen Sparplan fuer den angegebenen User
+     * und legt in derselben Transaktion seinen Projektions-Snapshot an.
+     * Fuer die Zuordnung reicht eine Referenz auf den User (nur der Fremdschluessel),
+     * der User selbst wird nicht geladen.
      */
+    @Transactional
     public Sparplan save(Sparplan sparplan, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User nicht gefunden"));
-        sparplan.setUser(user);
-        return repository.save(sparplan);
+        sparplan.setUser(userRepository.getReferenceById(userId));
+        Sparplan saved = repository.save(sparplan);
+        snapshotService.anlegen(new SnapshotQuelle(
+                saved.getId(), userId, saved.getMonatlicheRate(), saved.getLaufzeitJahre()));
+        versionService.geaendert(userId);
+        return saved;
+    }
+
+    /**
+     * Legt viele Sparplaene in einer Transaktion an.
+     * Dank Sequenz-IDs sendet Hibernate die Inserts als JDBC-Batches; alle
+     * FLUSH_INTERVAL Eintraege wird der Persistence Context geleert, damit der
+     * Speicherbedarf nicht mit der Anzahl waechst.
+     */
+    @Transactional
+    public List<SparplanView> saveAll(List<Sparplan> sparplaene, Long userId) {
+        User user = userRepository.getReferenceById(userId);
+
+        List<SparplanView> created = new ArrayList<>(sparplaene.size());
+        for (int i = 0; i < sparplaene.size(); i++) {
+            Sparplan sparplan = sparplaene.get(i);
+            sparplan.setId(null);
+            sparplan.setUser(user);
+            entityManager.persist(sparplan);
+            snapshotService.anlegen(new SnapshotQuelle(
+                    sparplan.getId(), userId, sparplan.getMonatlicheRate(), sparplan.getLaufzeitJahre()));
+            created.add(SparplanView.from(sparplan));
+
+            if ((i + 1) % FLUSH_INTERVAL == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        versionService.geaendert(userId);
+        return created;
+    }
+
+    /**
+     * Aktualisiert viele Sparplaene in einer Transaktion (alles oder nichts).
+     * Eine Abfrage laedt alle betroffenen Sparplaene, die Updates gehen als
+     * JDBC-Batch raus. NOT_FOUND wenn eine id fehlt oder fremd ist; aendert ein
+     * anderer Request einen der Sparplaene gleichzeitig, scheitert die Versionspruefung
+     * (ObjectOptimisticLockingFailureException).
+     *
+     * @param sparplaene Neue Werte, jeweils mit id
+     */
+    @Transactional
+    public OwnershipResult<List<SparplanView>> updateAll(List<Sparplan> sparplaene, Long userId) {
+        Map<Long, Sparplan> updates = new LinkedHashMap<>();
+        for (Sparplan sparplan : sparplaene) {
+            updates.put(sparplan.getId(), sparplan);
+        }
+
+        List<Sparplan> existing = repository.findByUserIdAndIdIn(userId, updates.keySet());
+        if (existing.size() != updates.size()) {
+            return OwnershipResult.notFound();
+        }
+
+        List<SnapshotQuelle> snapshots = new ArrayList<>(existing.size());
+        for (Sparplan sparplan : existing) {
+            Sparplan values = updates.get(sparplan.getId());
+            sparplan.setEtfName(values.getEtfName());
+            sparplan.setMonatlicheRate(values.getMonatlicheRate());
+            sparplan.setLaufzeitJahre(values.getLaufzeitJahre());
+            snapshots.add(new SnapshotQuelle(
+                    sparplan.getId(), userId, sparplan.getMonatlicheRate(), sparplan.getLaufzeitJahre()));
+        }
+        // Flush schreibt die Updates (mit Versionspruefung) und zaehlt die Versionen hoch
+        repository.flush();
+
+        List<SparplanView> updated = new ArrayList<>(existing.size());
+        for (Sparplan sparplan : existing) {
+            updated.add(SparplanView.from(sparplan));
+        }
+        snapshotService.aktualisieren(snapshots);
+        versionService.geaendert(userId);
+        return OwnershipResult.ok(updated);
+    }
+
+    /**
+     * Loescht alle Sparplaene aus ids, die dem User gehoeren - ein einziges DELETE.
+     * Fremde oder unbekannte ids werden ignoriert.
+     *
+     * @return Anzahl geloeschter Sparplaene
+     */
+    @Transactional
+    public int deleteAll(Collection<Long> ids, Long userId) {
+        snapshotService.entfernenAlle(ids, userId);
+        int geloescht = repository.deleteOwnedIn(userId, ids);
+        if (geloescht > 0) {
+            versionService.geaendert(userId);
+        }
+        return geloescht;
     }
 
     /**
      * Aktualisiert einen Sparplan nur wenn er dem User gehoert.
-     * Gibt Optional.empty() zurueck wenn nicht gefunden oder nicht berechtigt.
+     * Ein einziges UPDATE ... WHERE id = ? AND user_id = ? [AND version = ?]; nur wenn
+     * keine Zeile betroffen war, wird nachgesehen ob 403, 404 oder 412 passt.
+     *
+     * @param expectedVersion Version aus If-Match oder null fuer ein Update ohne Bedingung
      */
-    public Optional<Sparplan> update(Long id, Sparplan updatedSparplan, Long userId) {
-        return repository.findByIdAndUserId(id, userId)
-                .map(existingSparplan -> {
-                    existingSparplan.setEtfName(updatedSparplan.getEtfName());
-                    existingSparplan.setMonatlicheRate(updatedSparplan.getMonatlicheRate());
-                    existingSparplan.setLaufzeitJahre(updatedSparplan.getLaufzeitJahre());
-                    return repository.save(existingSparplan);
-                });
+    @Transactional
+    public OwnershipResult<SparplanView> update(Long id, Sparplan updatedSparplan, Long userId, Long expectedVersion) {
+        int rows = expectedVersion == null
+                ? repository.updateOwned(id, userId,
+                        updatedSparplan.getEtfName(),
+                        updatedSparplan.getMonatlicheRate(),
+                        updatedSparplan.getLaufzeitJahre())
+                : repository.updateOwnedIfVersion(id, userId, expectedVersion,
+                        updatedSparplan.getEtfName(),
+                        updatedSparplan.getMonatlicheRate(),
+                        updatedSparplan.getLaufzeitJahre());
+        if (rows == 0) {
+            return updateMiss(id, userId);
+        }
+        SparplanView view = repository.findViewByIdAndUserId(id, userId).orElseThrow();
+        snapshotService.aktualisieren(List.of(new SnapshotQuelle(
+                id, userId, view.monatlicheRate(), view.laufzeitJahre())));
+        versionService.geaendert(userId);
+        return OwnershipResult.ok(view);
     }
 
     /**
      * Loescht einen Sparplan nur wenn er dem User gehoert.
-     * Gibt true zurueck wenn erfolgreich, false wenn nicht gefunden.
+     * Ein einziges DELETE ... WHERE id = ? AND user_id = ?, ohne das Entity vorher zu laden.
      */
-    public boolean deleteByIdAndUserId(Long id, Long userId) {
-        Optional<Sparplan> sparplan = repository.findByIdAndUserId(id, userId);
-        if (sparplan.isPresent()) {
-            repository.delete(sparplan.get());
-            return true;
+    @Transactional
+    public OwnershipResult<Void> deleteByIdAndUserId(Long id, Long userId) {
+        if (repository.deleteOwned(id, userId) == 0) {
+            return ownershipMiss(id);
         }
-        return false;
+        snapshotService.entfernen(id, userId);
+        versionService.geaendert(userId);
+        return OwnershipResult.ok(null);
+    }
+
+    /**
+     * Kein Update trotz Treffer-Bedingung: fremder Sparplan (403), keiner (404)
+     * oder eigener mit anderer Version (412).
+     */
+    private <T> OwnershipResult<T> updateMiss(Long id, Long userId) {
+        return repository.findOwnedViewById(id)
+                .map(owned -> owned.ownerId().equals(userId)
+                        ? OwnershipResult.<T>preconditionFailed()
+                        : OwnershipResult.<T>forbidden())
+                .orElseGet(OwnershipResult::notFound);
     }
-}
 
+    /**
+     * Kein Treffer fuer (id, userId): existiert der Sparplan, gehoert er einem anderen User.
+     */
+    private <T> OwnershipResult<T> ownershipMiss(Long id) {
+        return repository.existsById(id) ? OwnershipResult.forbidden() : OwnershipResult.notFound();
+    }
+}
@@ -0,0 +1,61 @@
+package de.htw.berlin.webtech.etf.service;
+
+import de.htw.berlin.webtech.etf.domain.entity.SparplanStand;
+import de.htw.berlin.webtech.etf.repository.SparplanStandRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Aenderungsstand der Sparplaene pro User - Grundlage der ETags fuer GET /api/sparplaene.
+ *
+ * Der Stand ist ein Zaehler in der Datenbank (Tabelle sparplan_staende), den jede
+ * schreibende Operation in ihrer eigenen Transaktion erhoeht. Er aendert sich also
+ * genau dann, wenn die Aenderung committet wird, und alle Instanzen lesen denselben Wert.
+ */
+@Service
+public class SparplanVersionService {
+
+    private final SparplanStandRepository repository;
+    private final TransactionTemplate neueTransaktion;
+
+    public SparplanVersionService(SparplanStandRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.neueTransaktion = new TransactionTemplate(transactionManager);
+        this.neueTransaktion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Starker ETag (mit Anfuehrungszeichen) fuer die Sparplan-Liste des Users.
+     * Die userId steht mit drin, damit nach einem User-Wechsel im selben Browser
+     * kein fremder Stand als "unveraendert" gilt.
+     */
+    public String etag(Long userId) {
+        return "\"" + userId + "-" + repository.findStand(userId).orElse(0L) + "\"";
+    }
+
+    /**
+     * Meldet eine Aenderung an den Sparplaenen des Users. Muss in der Transaktion
+     * der Aenderung laufen - der neue Stand wird mit ihr committet oder zurueckgerollt.
+     */
+    public void geaendert(Long userId) {
+        if (repository.erhoehen(userId) == 0) {
+            anlegen(userId);
+            repository.erhoehen(userId);
+        }
+    }
+
+    /**
+     * Legt den Zaehler in einer eigenen Transaktion an, damit er auch ohne Commit der
+     * Aenderung existiert. Hat ihn eine parallele Anfrage schon angelegt, ist das kein Fehler.
+     */
+    private void anlegen(Long userId) {
+        try {
+            neueTransaktion.executeWithoutResult(status -> repository.saveAndFlush(new SparplanStand(userId, 0L)));
+        } catch (DataIntegrityViolationException e) {
+            // parallel angelegt
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package de.htw.berlin.webtech.etf.service.auth;
+
+/**
+ * Wird geworfen, wenn eine IP oder ein Account zu viele Auth-Anfragen schickt.
+ * Der Client soll es nach retryAfterSeconds erneut versuchen.
+ */
+public class AuthRateLimitedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AuthRateLimitedException(long retryAfterSeconds) {
+        super("Zu viele Auth-Anfragen");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,78 @@
+package de.htw.berlin.webtech.etf.service.auth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Begrenzt Login, Registrierung und Passwort-Reset pro Client-IP und pro Email,
+ * bevor Datenbank und BCrypt etwas tun muessen.
+ *
+ * - pro IP: bremst Credential-Stuffing von einer Adresse aus
+ * - pro Email: bremst verteiltes Raten auf einen Account
+ * Die IP wird zuerst geprueft; wer dort abgelehnt wird, verbraucht kein Token des Accounts.
+ *
+ * Beide Limits sind Token-Buckets (TokenBucketLimiter), abschaltbar mit auth.rate-limit.enabled=false.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private final boolean enabled;
+    private final TokenBucketLimiter proIp;
+    private final TokenBucketLimiter proAccount;
+    private final LongAdder abgelehnt = new LongAdder();
+
+    public AuthRateLimiter(
+            @Value("${auth.rate-limit.enabled:true}") boolean enabled,
+            @Value("${auth.rate-limit.ip.per-minute:30}") int ipProMinute,
+            @Value("${auth.rate-limit.ip.burst:10}") int ipBurst,
+            @Value("${auth.rate-limit.account.per-minute:5}") int accountProMinute,
+            @Value("${auth.rate-limit.account.burst:5}") int accountBurst,
+            @Value("${auth.rate-limit.max-keys:100000}") int maxKeys
+    ) {
+        this(enabled, ipProMinute, ipBurst, accountProMinute, accountBurst, maxKeys, System::nanoTime);
+    }
+
+    AuthRateLimiter(boolean enabled, int ipProMinute, int ipBurst, int accountProMinute, int accountBurst,
+                    int maxKeys, LongSupplier uhr) {
+        this.enabled = enabled;
+        this.proIp = new TokenBucketLimiter(ipProMinute, ipBurst, maxKeys, uhr);
+        this.proAccount = new TokenBucketLimiter(accountProMinute, accountBurst, maxKeys, uhr);
+    }
+
+    /**
+     * Nimmt je ein Token fuer IP und Email.
+     *
+     * @param clientIp Adresse des Clients
+     * @param email    Email aus dem Request (wird normalisiert), null = nur IP pruefen
+     * @throws AuthRateLimitedException wenn eines der Limits erschoepft ist
+     */
+    public void pruefen(String clientIp, String email) {
+        if (!enabled) {
+            return;
+        }
+        long warten = proIp.tryAcquire(clientIp == null ? "" : clientIp);
+        if (warten == 0 && email != null && !email.isBlank()) {
+            warten = proAccount.tryAcquire(email.trim().toLowerCase());
+        }
+        if (warten > 0) {
+            abgelehnt.increment();
+            // Auf ganze Sekunden aufrunden, mindestens 1
+            throw new AuthRateLimitedException(Math.max(1, (warten + 999_999_999L) / 1_000_000_000L));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getAbgelehnt() {
+        return abgelehnt.sum();
+    }
+
+    public int size() {
+        return proIp.size() + proAccount.size();
+    }
+}
@@ -0,0 +1,12 @@
+package de.htw.berlin.webtech.etf.service.auth;
+
+import java.time.Instant;
+
+/**
+ * Inhalt eines gueltigen JWT-Tokens nach der Signaturpruefung.
+ *
+ * @param userId    User-ID (Subject)
+ * @param email     Email-Claim
+ * @param expiresAt Ablaufzeitpunkt des Tokens
+ */
+public record JwtPrincipal(Long userId, String email, Instant expiresAt) {}
@@ -2,30 +2,50 @@ package de.htw.berlin.webtech.etf.service.auth;
 
 import de.htw.berlin.webtech.etf.domain.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
 
 /**
  * JWT Service - Erstellt und validiert JSON Web Tokens.
  *
  * Token enthaelt: userId, email, Ablaufzeit
  * Token-Gueltigkeit: 24 Stunden
+ *
+ * Signing Key und Parser werden einmalig beim Start erstellt (beide sind
+ * unveraenderlich und thread-safe) statt bei jedem Aufruf neu.
+ * Bereits gepruefte Tokens merkt sich der JwtTokenCache bis zu ihrem Ablauf.
  */
 @Service
 public class JwtService {
 
-    // Secret Key aus application.properties (oder Fallback fuer Entwicklung)
-    @Value("${jwt.secret}")
-    private String secretKey;
-
     // Token-Gueltigkeit: 24 Stunden in Millisekunden
     private static final long EXPIRATION_TIME = 24 * 60 * 60 * 1000;
 
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final JwtTokenCache tokenCache;
+
+    /**
+     * @param secretKey  Secret aus application.properties (oder Fallback fuer Entwicklung)
+     * @param tokenCache Cache fuer gepruefte Tokens
+     */
+    public JwtService(@Value("${jwt.secret}") String secretKey, JwtTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     /**
      * Erstellt einen JWT-Token fuer einen User nach erfolgreichem Login.
      *
@@ -41,10 +61,41 @@ public class JwtService {
                 .claim("email", user.getEmail())            // Email als zusaetzliche Info
                 .issuedAt(now)                              // Erstellungszeitpunkt
                 .expiration(expiryDate)                     // Ablaufzeitpunkt (24h)
-                .signWith(getSigningKey())                  // Signatur mit Secret Key
+                .signWith(signingKey)                       // Signatur mit Secret Key
                 .compact();
     }
 
+    /**
+     * Prueft den Token und liest alle Daten mit einer einzigen Signaturpruefung aus.
+     * Wird bei jeder authentifizierten Anfrage vom JwtAuthenticationFilter aufgerufen.
+     * Bekannte Tokens kommen aus dem Cache, ohne erneute Signaturpruefung.
+     *
+     * @param token Der JWT-Token
+     * @return Principal mit userId, email und Ablaufzeit - leer wenn Token ungueltig
+     */
+    public Optional<JwtPrincipal> verifyToken(String token) {
+        return tokenCache.getOrVerify(token, this::parsePrincipal);
+    }
+
+    /**
+     * Vollstaendige Pruefung ohne Cache.
+     */
+    private Optional<JwtPrincipal> parsePrincipal(String token) {
+        try {
+            Claims claims = parseToken(token);
+            if (claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new JwtPrincipal(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get("email", String.class),
+                    claims.getExpiration().toInstant()
+            ));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Extrahiert die User-ID aus einem Token.
      *
@@ -87,18 +138,6 @@ public class JwtService {
      * Wirft Exception wenn Token ungueltig.
      */
     private Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    /**
-     * Erstellt den Signing Key aus dem Secret.
-     */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
-
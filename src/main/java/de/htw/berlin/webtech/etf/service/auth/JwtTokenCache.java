@@ -0,0 +1,196 @@
+package de.htw.berlin.webtech.etf.service.auth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache fuer bereits gepruefte JWT-Tokens.
+ *
+ * Clients schicken denselben Token waehrend seiner 24h-Gueltigkeit sehr oft mit.
+ * Statt jedes Mal die HMAC-Signatur zu pruefen, wird der Principal unter dem
+ * SHA-256-Hash des Tokens gemerkt (der Token selbst wird nicht gespeichert).
+ *
+ * - Eintraege gelten nur bis zum exp des Tokens; abgelaufene fliegen beim Lesen raus
+ *   und, sobald ein Segment voll ist, vor der LRU-Verdraengung (hoechstens einmal pro Sekunde)
+ * - Groesse begrenzt, Verdraengung nach LRU
+ * - aufgeteilt in Segmente, damit nicht alle Threads auf ein Lock warten
+ * - abschaltbar mit jwt.cache.enabled=false
+ * - Treffer, Fehlgriffe und Verdraengungen als Metriken, siehe MetricsConfig
+ */
+@Component
+public class JwtTokenCache {
+
+    private static final int SEGMENTE = 16;
+    private static final long AUFRAEUM_ABSTAND_MS = 1_000;
+
+    private final boolean enabled;
+    private final Segment[] segmente;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public JwtTokenCache(
+            @Value("${jwt.cache.enabled:true}") boolean enabled,
+            @Value("${jwt.cache.max-size:10000}") int maxSize
+    ) {
+        this.enabled = enabled && maxSize > 0;
+        int proSegment = Math.max(1, (maxSize + SEGMENTE - 1) / SEGMENTE);
+        this.segmente = new Segment[SEGMENTE];
+        for (int i = 0; i < SEGMENTE; i++) {
+            segmente[i] = new Segment(proSegment, evictions, expirations);
+        }
+    }
+
+    /**
+     * Cache der nichts speichert - jeder Aufruf geht an den Verifier.
+     */
+    public static JwtTokenCache disabled() {
+        return new JwtTokenCache(false, 0);
+    }
+
+    /**
+     * Liefert den gemerkten Principal oder prueft den Token mit dem Verifier
+     * und merkt sich das Ergebnis, wenn der Token gueltig ist.
+     *
+     * @param token    Der JWT-Token
+     * @param verifier Vollstaendige Pruefung (Signatur, Ablauf)
+     */
+    public Optional<JwtPrincipal> getOrVerify(String token, Function<String, Optional<JwtPrincipal>> verifier) {
+        if (!enabled || token == null) {
+            return verifier.apply(token);
+        }
+
+        Digest key = Digest.of(token);
+        Segment segment = segmente[(key.hashCode() & 0x7fffffff) % SEGMENTE];
+        long now = System.currentTimeMillis();
+
+        synchronized (segment) {
+            JwtPrincipal cached = segment.get(key);
+            if (cached != null) {
+                if (cached.expiresAt().toEpochMilli() > now) {
+                    hits.increment();
+                    return Optional.of(cached);
+                }
+                segment.remove(key);
+                expirations.increment();
+            }
+        }
+
+        misses.increment();
+        Optional<JwtPrincipal> verified = verifier.apply(token);
+        verified.ifPresent(principal -> {
+            synchronized (segment) {
+                segment.abgelaufeneEntfernen(System.currentTimeMillis());
+                segment.put(key, principal);
+            }
+        });
+        return verified;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Wegen Platzmangel verdraengte Eintraege (LRU).
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Wegen Ablauf des Tokens entfernte Eintraege.
+     */
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segmente) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * SHA-256 des Tokens als vier longs - schneller Schluessel ohne String-Kopie.
+     */
+    private record Digest(long a, long b, long c, long d) {
+
+        static Digest of(String token) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256")
+                        .digest(token.getBytes(StandardCharsets.UTF_8));
+                ByteBuffer buffer = ByteBuffer.wrap(hash);
+                return new Digest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                // SHA-256 ist in jeder JVM vorhanden
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * LRU-Segment: LinkedHashMap in Zugriffsreihenfolge, aeltester Eintrag fliegt raus.
+     */
+    private static final class Segment extends LinkedHashMap<Digest, JwtPrincipal> {
+
+        private final int maxEntries;
+        private final LongAdder evictions;
+        private final LongAdder expirations;
+        private long naechstesAufraeumen;
+
+        Segment(int maxEntries, LongAdder evictions, LongAdder expirations) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+            this.evictions = evictions;
+            this.expirations = expirations;
+        }
+
+        /**
+         * Ist das Segment voll, zuerst abgelaufene Tokens entfernen, damit nicht
+         * gueltige Eintraege fuer tote Platz machen muessen. Nur unter dem Lock des Segments aufrufen.
+         */
+        void abgelaufeneEntfernen(long now) {
+            if (size() < maxEntries || now < naechstesAufraeumen) {
+                return;
+            }
+            naechstesAufraeumen = now + AUFRAEUM_ABSTAND_MS;
+            int vorher = size();
+            values().removeIf(principal -> principal.expiresAt().toEpochMilli() <= now);
+            expirations.add(vorher - size());
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Digest, JwtPrincipal> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package de.htw.berlin.webtech.etf.service.auth;
+
+/**
+ * Wird geworfen, wenn der Hashing-Pool voll ist und keine weiteren
+ * BCrypt-Berechnungen annimmt. Der Client soll es nach retryAfterSeconds erneut versuchen.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public PasswordHashingRejectedException(int retryAfterSeconds) {
+        super("Passwort-Hashing ist ausgelastet");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
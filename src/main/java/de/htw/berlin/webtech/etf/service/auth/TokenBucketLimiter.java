@@ -0,0 +1,113 @@
+package de.htw.berlin.webtech.etf.service.auth;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-Bucket pro Schluessel (z.B. IP oder Email), gerechnet als GCRA:
+ * pro Schluessel steht nur ein Zeitpunkt in einem AtomicLong - ab wann der
+ * Bucket wieder voll waere. Eine Anfrage schiebt ihn um ein Intervall weiter,
+ * per compareAndSet, also ohne Lock.
+ *
+ * Die Schluessel liegen in Streifen mit je begrenzter Groesse. Ist ein Streifen
+ * voll, fliegen die Eintraege raus, deren Bucket wieder voll ist (die sind von
+ * einem neuen Bucket nicht zu unterscheiden). Reicht das nicht, teilen sich neue
+ * Schluessel den Ueberlauf-Bucket des Streifens - der Speicher bleibt begrenzt
+ * und eine Flut neuer Schluessel setzt bestehende Limits nicht zurueck.
+ */
+public class TokenBucketLimiter {
+
+    private static final int STREIFEN = 16;
+    private static final long AUFRAEUM_ABSTAND = 1_000_000_000L;
+
+    private final long intervall;
+    private final long toleranz;
+    private final int maxProStreifen;
+    private final LongSupplier uhr;
+    private final long start;
+    private final Streifen[] streifen;
+
+    /**
+     * @param proMinute Dauerhaft erlaubte Anfragen pro Minute
+     * @param burst     Anfragen, die ein voller Bucket sofort erlaubt
+     * @param maxKeys   Obergrenze fuer gemerkte Schluessel
+     * @param uhr       Zeit in Nanosekunden (System::nanoTime)
+     */
+    public TokenBucketLimiter(int proMinute, int burst, int maxKeys, LongSupplier uhr) {
+        this.intervall = 60_000_000_000L / Math.max(1, proMinute);
+        this.toleranz = intervall * (Math.max(1, burst) - 1);
+        this.maxProStreifen = Math.max(1, (maxKeys + STREIFEN - 1) / STREIFEN);
+        this.uhr = uhr;
+        this.start = uhr.getAsLong();
+        this.streifen = new Streifen[STREIFEN];
+        for (int i = 0; i < STREIFEN; i++) {
+            streifen[i] = new Streifen();
+        }
+    }
+
+    /**
+     * Nimmt ein Token fuer den Schluessel.
+     *
+     * @return 0 wenn erlaubt, sonst Nanosekunden bis zum naechsten freien Token
+     */
+    public long tryAcquire(String key) {
+        // Zeit seit dem Start, damit 0 als "Bucket voll" dienen kann
+        long jetzt = uhr.getAsLong() - start;
+        AtomicLong bucket = bucket(key, jetzt);
+        while (true) {
+            long voll = bucket.get();
+            long basis = Math.max(voll, jetzt);
+            long warten = basis - jetzt - toleranz;
+            if (warten > 0) {
+                return warten;
+            }
+            if (bucket.compareAndSet(voll, basis + intervall)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Streifen s : streifen) {
+            size += s.buckets.size();
+        }
+        return size;
+    }
+
+    private AtomicLong bucket(String key, long jetzt) {
+        Streifen s = streifen[(key.hashCode() & 0x7fffffff) % STREIFEN];
+        AtomicLong bucket = s.buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (s.buckets.size() >= maxProStreifen) {
+            s.aufraeumen(jetzt);
+            if (s.buckets.size() >= maxProStreifen) {
+                return s.ueberlauf;
+            }
+        }
+        return s.buckets.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    private static final class Streifen {
+
+        final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        final AtomicLong ueberlauf = new AtomicLong();
+        final AtomicLong naechstesAufraeumen = new AtomicLong();
+
+        /**
+         * Entfernt volle Buckets - hoechstens einmal pro Sekunde und nur von einem Thread.
+         */
+        void aufraeumen(long jetzt) {
+            long faellig = naechstesAufraeumen.get();
+            if (jetzt < faellig) {
+                return;
+            }
+            if (naechstesAufraeumen.compareAndSet(faellig, jetzt + AUFRAEUM_ABSTAND)) {
+                buckets.values().removeIf(bucket -> bucket.get() <= jetzt);
+            }
+        }
+    }
+}
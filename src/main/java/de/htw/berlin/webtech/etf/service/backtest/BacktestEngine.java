@@ -0,0 +1,143 @@
+package de.htw.berlin.webtech.etf.service.backtest;
+
+import de.htw.berlin.webtech.etf.service.kurs.KursReihe;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Spielt einen Sparplan auf historischen Tagesschlusskursen nach.
+ *
+ * Gekauft wird jeden Monat am ersten Handelstag am oder nach dem Stichtag
+ * (binaere Suche in der KursReihe), fuer die volle Rate (Bruchstuecke erlaubt,
+ * keine Kosten). Bewertet wird am ersten Handelstag nach Ende der Laufzeit.
+ *
+ * Rollierender Modus: alle Startmonate in einem Durchgang. Mit P[m] = Kurs am
+ * ersten Handelstag von Monat m und S = Praefixsummen von 1/P gilt fuer den
+ * Start in Monat s bei n Monaten:
+ *   anteile = rate * (S[s+n] - S[s]),  endwert = anteile * P[s+n]
+ * also O(Monate) statt O(Monate * n) fuer einzelne Wiederholungen.
+ */
+public final class BacktestEngine {
+
+    /**
+     * Hoechstens so viele Tage darf der erste Kurs nach dem Startdatum liegen
+     * (Wochenende plus Feiertage). Sonst faellt der Start vor die Kurshistorie.
+     */
+    static final int MAX_TAGE_BIS_ERSTER_KURS = 7;
+
+    private BacktestEngine() {
+    }
+
+    /**
+     * Ergebnis eines einzelnen Backtests.
+     *
+     * @param kaufTage     Epoch-Day jedes Kaufs
+     * @param verlauf      Depotwert direkt nach jedem Kauf
+     * @param bewertungTag Epoch-Day der Schlussbewertung
+     * @param vollstaendig false wenn die Kurse vor Ende der Laufzeit aufhoeren
+     */
+    public record Ergebnis(
+            int kaeufe,
+            double anteile,
+            double eingezahlt,
+            double endwert,
+            int bewertungTag,
+            boolean vollstaendig,
+            int[] kaufTage,
+            double[] verlauf
+    ) {}
+
+    /**
+     * Ergebnis des rollierenden Backtests.
+     *
+     * @param startTage Epoch-Day des ersten Kaufs je Startmonat
+     * @param endwerte  Endwert je Startmonat
+     */
+    public record Rollierend(int[] startTage, double[] endwerte) {}
+
+    /**
+     * Ein Backtest ab einem Startdatum.
+     *
+     * @throws IllegalArgumentException wenn es ab von keine Kurse gibt oder von vor der
+     *                                  Kurshistorie liegt (sonst wuerden die fruehen Monate alle
+     *                                  zum ersten historischen Kurs kaufen)
+     */
+    public static Ergebnis einzeln(KursReihe reihe, LocalDate von, int monate, double rate) {
+        if (!reihe.isEmpty() && ChronoUnit.DAYS.between(von, reihe.datum(0)) > MAX_TAGE_BIS_ERSTER_KURS) {
+            throw new IllegalArgumentException(
+                    "Keine Kurse vor " + reihe.datum(0) + " - Start fruehestens an diesem Tag");
+        }
+        int[] kaufTage = new int[monate];
+        double[] verlauf = new double[monate];
+        double anteile = 0.0;
+        int kaeufe = 0;
+
+        for (int k = 0; k < monate; k++) {
+            int index = reihe.indexAb((int) von.plusMonths(k).toEpochDay());
+            if (index == reihe.size()) {
+                break;
+            }
+            double kurs = reihe.kurs(index);
+            anteile += rate / kurs;
+            kaufTage[k] = reihe.tag(index);
+            verlauf[k] = anteile * kurs;
+            kaeufe++;
+        }
+        if (kaeufe == 0) {
+            throw new IllegalArgumentException("Keine Kurse ab " + von);
+        }
+
+        int bewertung = reihe.indexAb((int) von.plusMonths(monate).toEpochDay());
+        boolean vollstaendig = kaeufe == monate && bewertung < reihe.size();
+        if (bewertung == reihe.size()) {
+            bewertung = reihe.size() - 1;
+        }
+
+        return new Ergebnis(kaeufe, anteile, kaeufe * rate, anteile * reihe.kurs(bewertung),
+                reihe.tag(bewertung), vollstaendig,
+                Arrays.copyOf(kaufTage, kaeufe), Arrays.copyOf(verlauf, kaeufe));
+    }
+
+    /**
+     * Backtests fuer alle Startmonate, fuer die die Kurshistorie die ganze Laufzeit abdeckt.
+     *
+     * @throws IllegalArgumentException wenn die Kurshistorie kuerzer als die Laufzeit ist
+     */
+    public static Rollierend rollierend(KursReihe reihe, int monate, double rate) {
+        if (reihe.isEmpty()) {
+            throw new IllegalArgumentException("Keine Kurse vorhanden");
+        }
+
+        // P[m]: Kurs am ersten Handelstag ab dem Monatsersten, fuer alle Monate mit Kursen
+        LocalDate erster = reihe.datum(0).withDayOfMonth(1);
+        LocalDate letzter = reihe.datum(reihe.size() - 1);
+        int anzahlMonate = (int) (ChronoUnit.MONTHS.between(erster, letzter.withDayOfMonth(1)) + 1);
+        if (anzahlMonate <= monate) {
+            throw new IllegalArgumentException("Kurshistorie ist kuerzer als die Laufzeit");
+        }
+
+        int[] tage = new int[anzahlMonate];
+        double[] kurse = new double[anzahlMonate];
+        for (int m = 0; m < anzahlMonate; m++) {
+            int index = reihe.indexAb((int) erster.plusMonths(m).toEpochDay());
+            tage[m] = reihe.tag(index);
+            kurse[m] = reihe.kurs(index);
+        }
+
+        double[] praefix = new double[anzahlMonate + 1];
+        for (int m = 0; m < anzahlMonate; m++) {
+            praefix[m + 1] = praefix[m] + 1.0 / kurse[m];
+        }
+
+        int starts = anzahlMonate - monate;
+        int[] startTage = new int[starts];
+        double[] endwerte = new double[starts];
+        for (int s = 0; s < starts; s++) {
+            startTage[s] = tage[s];
+            endwerte[s] = rate * (praefix[s + monate] - praefix[s]) * kurse[s + monate];
+        }
+        return new Rollierend(startTage, endwerte);
+    }
+}
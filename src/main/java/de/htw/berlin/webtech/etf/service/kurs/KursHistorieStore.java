@@ -0,0 +1,174 @@
+package de.htw.berlin.webtech.etf.service.kurs;
+
+import de.htw.berlin.webtech.etf.domain.entity.Etf;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Lokaler Speicher fuer Tagesschlusskurse, spaltenweise in zwei Dateien pro ISIN:
+ *
+ * - ISIN.days  - int32 pro Kurs: Datum als Epoch-Day
+ * - ISIN.close - float64 pro Kurs: Schlusskurs
+ *
+ * Beide little endian, aufsteigend nach Datum, nur Anhaengen (append-only).
+ * Zum Lesen werden die Dateien memory-mapped; pro ISIN haelt ein Index im
+ * Speicher die aktuelle KursReihe (nur fuer ISINs mit Dateien - Anfragen nach
+ * unbekannten ISINs fuellen den Index nicht). Bereichsabfragen sind binaere Suche plus
+ * Slice auf dem Mapping - es wird nichts kopiert.
+ *
+ * Schreiben ist synchronisiert (ein Schreiber), Lesen kommt ohne Lock aus:
+ * nach dem Anhaengen wird die Reihe neu gemappt und ersetzt, bestehende
+ * Leser behalten ihre (weiterhin gueltige) alte Sicht.
+ */
+@Component
+public class KursHistorieStore {
+
+    private static final Pattern ISIN = Pattern.compile(Etf.ISIN_PATTERN);
+
+    private final Path verzeichnis;
+    private final Map<String, KursReihe> reihen = new ConcurrentHashMap<>();
+
+    public KursHistorieStore(@Value("${etf.kurse.verzeichnis:./data/kurse}") Path verzeichnis) {
+        this.verzeichnis = verzeichnis;
+    }
+
+    /**
+     * Alle gespeicherten Kurse einer ISIN (leer wenn keine vorhanden).
+     */
+    public KursReihe reihe(String isin) {
+        pruefeIsin(isin);
+        KursReihe reihe = reihen.get(isin);
+        if (reihe != null) {
+            return reihe;
+        }
+        // Keine Kurse: nicht merken, sonst waechst der Index mit jeder angefragten ISIN
+        KursReihe geoeffnet = reihen.computeIfAbsent(isin, i -> {
+            KursReihe neu = oeffne(i);
+            return neu.isEmpty() ? null : neu;
+        });
+        return geoeffnet != null ? geoeffnet : KursReihe.leer();
+    }
+
+    /**
+     * Haengt Kurse an; Tage, die nicht nach dem letzten gespeicherten Tag liegen,
+     * werden uebersprungen (erneuter Import derselben Datei aendert nichts).
+     *
+     * @param tage   Epoch-Days, aufsteigend
+     * @param kurse  Schlusskurse (> 0), gleiche Laenge wie tage
+     * @param anzahl Anzahl zu uebernehmender Eintraege
+     * @return Anzahl tatsaechlich angehaengter Kurse
+     * @throws IllegalArgumentException wenn tage nicht aufsteigend oder ein Kurs <= 0 ist
+     */
+    public synchronized int anhaengen(String isin, int[] tage, double[] kurse, int anzahl) {
+        KursReihe bisher = reihe(isin);
+        int letzterTag = bisher.isEmpty() ? Integer.MIN_VALUE : bisher.tag(bisher.size() - 1);
+
+        int start = 0;
+        while (start < anzahl && tage[start] <= letzterTag) {
+            start++;
+        }
+        int neu = anzahl - start;
+        if (neu == 0) {
+            return 0;
+        }
+
+        ByteBuffer tagBytes = ByteBuffer.allocate(neu * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer kursBytes = ByteBuffer.allocate(neu * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        int vorher = letzterTag;
+        for (int i = start; i < anzahl; i++) {
+            if (tage[i] <= vorher) {
+                throw new IllegalArgumentException("Kurse muessen nach Datum aufsteigend sortiert sein");
+            }
+            if (!(kurse[i] > 0.0) || Double.isInfinite(kurse[i])) {
+                throw new IllegalArgumentException("Ungueltiger Kurs am " + LocalDate.ofEpochDay(tage[i]));
+            }
+            tagBytes.putInt(tage[i]);
+            kursBytes.putDouble(kurse[i]);
+            vorher = tage[i];
+        }
+        tagBytes.flip();
+        kursBytes.flip();
+
+        try {
+            Files.createDirectories(verzeichnis);
+            // Erst die Kurse, dann die Tage. Bricht das Schreiben ab, liest oeffne() nur
+            // bis zur kuerzeren Spalte, und das naechste Anhaengen schneidet den Rest ab.
+            schreibe(datei(isin, ".close"), kursBytes, (long) bisher.size() * Double.BYTES);
+            schreibe(datei(isin, ".days"), tagBytes, (long) bisher.size() * Integer.BYTES);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        reihen.put(isin, oeffne(isin));
+        return neu;
+    }
+
+    /**
+     * Vergisst die gemappten Reihen (z.B. nachdem Dateien von aussen ersetzt wurden).
+     */
+    public void leeren() {
+        reihen.clear();
+    }
+
+    private KursReihe oeffne(String isin) {
+        Path tageDatei = datei(isin, ".days");
+        Path kursDatei = datei(isin, ".close");
+        if (!Files.exists(tageDatei) || !Files.exists(kursDatei)) {
+            return KursReihe.leer();
+        }
+
+        try (FileChannel tageKanal = FileChannel.open(tageDatei, StandardOpenOption.READ);
+             FileChannel kursKanal = FileChannel.open(kursDatei, StandardOpenOption.READ)) {
+            long anzahl = Math.min(tageKanal.size() / Integer.BYTES, kursKanal.size() / Double.BYTES);
+            if (anzahl > Integer.MAX_VALUE / Double.BYTES) {
+                throw new IllegalStateException("Kurshistorie fuer " + isin + " ist zu gross");
+            }
+            // Das Mapping bleibt gueltig, nachdem der Kanal geschlossen ist
+            MappedByteBuffer tage = tageKanal.map(FileChannel.MapMode.READ_ONLY, 0, anzahl * Integer.BYTES);
+            MappedByteBuffer kurse = kursKanal.map(FileChannel.MapMode.READ_ONLY, 0, anzahl * Double.BYTES);
+            return new KursReihe(
+                    tage.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer(),
+                    kurse.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Schreibt daten ab position; alles dahinter (Reste eines abgebrochenen Schreibens) wird verworfen.
+     */
+    private void schreibe(Path datei, ByteBuffer daten, long position) throws IOException {
+        try (FileChannel kanal = FileChannel.open(datei, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            kanal.truncate(position);
+            kanal.position(position);
+            while (daten.hasRemaining()) {
+                kanal.write(daten);
+            }
+            kanal.force(false);
+        }
+    }
+
+    private Path datei(String isin, String endung) {
+        return verzeichnis.resolve(isin + endung);
+    }
+
+    private static void pruefeIsin(String isin) {
+        if (isin == null || !ISIN.matcher(isin).matches()) {
+            throw new IllegalArgumentException("Ungueltige ISIN: " + isin);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package de.htw.berlin.webtech.etf.service.kurs;
+
+import de.htw.berlin.webtech.etf.domain.entity.Etf;
+import de.htw.berlin.webtech.etf.repository.EtfRepository;
+import de.htw.berlin.webtech.etf.service.transfer.CsvRecordReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Laedt ETF-Stammdaten und Kurshistorien aus lokalen CSV-Dateien (kein Netzwerk).
+ *
+ * Erwartete Dateien im Import-Verzeichnis:
+ * - etfs.csv    mit Kopfzeile isin,name
+ * - ISIN.csv    pro ETF mit Kopfzeile datum,schluss (ISO-Datum, Punkt als Dezimaltrenner)
+ *
+ * Ist etf.kurse.import-verzeichnis gesetzt, wird nach dem Start im Hintergrund
+ * importiert. Bereits gespeicherte Tage werden uebersprungen, ein erneuter
+ * Import derselben Dateien aendert also nichts.
+ */
+@Slf4j
+@Service
+public class KursImportService {
+
+    private static final Pattern ISIN_DATEI = Pattern.compile(Etf.ISIN_PATTERN + "\\.csv");
+
+    private final EtfRepository etfRepository;
+    private final KursHistorieStore store;
+    private final TaskExecutor taskExecutor;
+    private final String importVerzeichnis;
+
+    public KursImportService(
+            EtfRepository etfRepository,
+            KursHistorieStore store,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+            @Value("${etf.kurse.import-verzeichnis:}") String importVerzeichnis) {
+        this.etfRepository = etfRepository;
+        this.store = store;
+        this.taskExecutor = taskExecutor;
+        this.importVerzeichnis = importVerzeichnis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void importiereNachStart() {
+        if (importVerzeichnis.isBlank()) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                importiereVerzeichnis(Path.of(importVerzeichnis));
+            } catch (IOException | RuntimeException e) {
+                log.warn("Import der Kurshistorien aus {} fehlgeschlagen", importVerzeichnis, e);
+            }
+        });
+    }
+
+    /**
+     * Importiert etfs.csv und alle ISIN.csv eines Verzeichnisses.
+     *
+     * @return Anzahl neu gespeicherter Kurse
+     */
+    public long importiereVerzeichnis(Path verzeichnis) throws IOException {
+        Path stammdaten = verzeichnis.resolve("etfs.csv");
+        if (Files.exists(stammdaten)) {
+            importiereStammdaten(stammdaten);
+        }
+
+        long anzahl = 0;
+        try (DirectoryStream<Path> dateien = Files.newDirectoryStream(verzeichnis, "*.csv")) {
+            for (Path datei : dateien) {
+                String name = datei.getFileName().toString();
+                if (ISIN_DATEI.matcher(name).matches()) {
+                    String isin = name.substring(0, name.length() - ".csv".length());
+                    int neu = importiereKurse(isin, datei);
+                    if (neu > 0) {
+                        log.info("{} Kurse fuer {} importiert", neu, isin);
+                    }
+                    anzahl += neu;
+                }
+            }
+        }
+        return anzahl;
+    }
+
+    /**
+     * Liest etfs.csv (isin,name) und legt neue ETFs an bzw. aktualisiert den Namen.
+     */
+    public int importiereStammdaten(Path datei) throws IOException {
+        List<Etf> etfs = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(datei, StandardCharsets.UTF_8)) {
+            CsvRecordReader csv = new CsvRecordReader(reader);
+            Map<String, Integer> spalten = kopfzeile(csv, datei);
+            int isin = spalte(spalten, "isin", datei);
+            int name = spalte(spalten, "name", datei);
+
+            List<String> felder;
+            while ((felder = csv.next()) != null) {
+                if (felder.size() <= Math.max(isin, name)) {
+                    continue;
+                }
+                Etf etf = new Etf(felder.get(isin).trim(), felder.get(name).trim());
+                if (etf.getIsin().matches(Etf.ISIN_PATTERN) && !etf.getName().isEmpty()) {
+                    etfs.add(etf);
+                } else {
+                    log.warn("Ungueltige Zeile {} in {} uebersprungen", csv.getZeile(), datei);
+                }
+            }
+        }
+        etfRepository.saveAll(etfs);
+        return etfs.size();
+    }
+
+    /**
+     * Liest die Kurse einer ISIN (datum,schluss) und haengt neue Tage an.
+     * Die Datei darf unsortiert sein; bei doppelten Tagen gilt der letzte Eintrag.
+     *
+     * @return Anzahl neu gespeicherter Kurse
+     */
+    public int importiereKurse(String isin, Path datei) throws IOException {
+        int[] tage = new int[1024];
+        double[] kurse = new double[1024];
+        int anzahl = 0;
+        boolean sortiert = true;
+
+        try (Reader reader = Files.newBufferedReader(datei, StandardCharsets.UTF_8)) {
+            CsvRecordReader csv = new CsvRecordReader(reader);
+            Map<String, Integer> spalten = kopfzeile(csv, datei);
+            int datum = spalte(spalten, "datum", datei);
+            int schluss = spalte(spalten, "schluss", datei);
+
+            List<String> felder;
+            while ((felder = csv.next()) != null) {
+                if (felder.size() <= Math.max(datum, schluss)) {
+                    continue;
+                }
+                int tag;
+                double kurs;
+                try {
+                    tag = (int) LocalDate.parse(felder.get(datum).trim()).toEpochDay();
+                    kurs = Double.parseDouble(felder.get(schluss).trim());
+                } catch (RuntimeException e) {
+                    log.warn("Ungueltige Zeile {} in {} uebersprungen", csv.getZeile(), datei);
+                    continue;
+                }
+                if (!(kurs > 0.0) || Double.isInfinite(kurs)) {
+                    continue;
+                }
+
+                if (anzahl == tage.length) {
+                    tage = Arrays.copyOf(tage, anzahl * 2);
+                    kurse = Arrays.copyOf(kurse, anzahl * 2);
+                }
+                sortiert &= anzahl == 0 || tag > tage[anzahl - 1];
+                tage[anzahl] = tag;
+                kurse[anzahl] = kurs;
+                anzahl++;
+            }
+        }
+
+        if (!sortiert) {
+            anzahl = sortiere(tage, kurse, anzahl);
+        }
+        return store.anhaengen(isin, tage, kurse, anzahl);
+    }
+
+    /**
+     * Sortiert nach Tag und entfernt Duplikate (letzter Eintrag gewinnt).
+     * Tag und Position werden in ein long gepackt - sortieren ohne Boxing.
+     *
+     * @return Anzahl verbleibender Eintraege
+     */
+    private static int sortiere(int[] tage, double[] kurse, int anzahl) {
+        long[] schluessel = new long[anzahl];
+        for (int i = 0; i < anzahl; i++) {
+            schluessel[i] = ((long) tage[i] << 32) | i;
+        }
+        Arrays.sort(schluessel);
+
+        double[] kopie = Arrays.copyOf(kurse, anzahl);
+        int ziel = 0;
+        for (int i = 0; i < anzahl; i++) {
+            int tag = (int) (schluessel[i] >> 32);
+            double kurs = kopie[(int) schluessel[i]];
+            if (ziel > 0 && tage[ziel - 1] == tag) {
+                kurse[ziel - 1] = kurs;
+            } else {
+                tage[ziel] = tag;
+                kurse[ziel] = kurs;
+                ziel++;
+            }
+        }
+        return ziel;
+    }
+
+    private static Map<String, Integer> kopfzeile(CsvRecordReader csv, Path datei) throws IOException {
+        List<String> kopf = csv.next();
+        if (kopf == null) {
+            throw new IllegalArgumentException(datei + " ist leer");
+        }
+        Map<String, Integer> spalten = new HashMap<>();
+        for (int i = 0; i < kopf.size(); i++) {
+            spalten.put(kopf.get(i).trim().replace("\uFEFF", "").toLowerCase(), i);
+        }
+        return spalten;
+    }
+
+    private static int spalte(Map<String, Integer> spalten, String name, Path datei) {
+        Integer index = spalten.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Spalte " + name + " fehlt in " + datei);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,86 @@
+package de.htw.berlin.webtech.etf.service.kurs;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+
+/**
+ * Unveraenderliche Sicht auf die Tagesschlusskurse eines ETFs, aufsteigend nach Datum.
+ *
+ * Liegt direkt auf den memory-mapped Dateien des KursHistorieStore - weder
+ * die Reihe noch Ausschnitte davon (slice) kopieren Daten.
+ * Datum als Epoch-Day (Tage seit 1970-01-01).
+ */
+public final class KursReihe {
+
+    private static final KursReihe LEER = new KursReihe(IntBuffer.allocate(0), DoubleBuffer.allocate(0));
+
+    private final IntBuffer tage;
+    private final DoubleBuffer kurse;
+
+    KursReihe(IntBuffer tage, DoubleBuffer kurse) {
+        this.tage = tage;
+        this.kurse = kurse;
+    }
+
+    public static KursReihe leer() {
+        return LEER;
+    }
+
+    public int size() {
+        return tage.limit();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Epoch-Day des i-ten Kurses */
+    public int tag(int i) {
+        return tage.get(i);
+    }
+
+    public LocalDate datum(int i) {
+        return LocalDate.ofEpochDay(tage.get(i));
+    }
+
+    public double kurs(int i) {
+        return kurse.get(i);
+    }
+
+    /**
+     * Index des ersten Kurses am oder nach dem Tag (binaere Suche) - size() wenn keiner.
+     */
+    public int indexAb(int epochDay) {
+        int links = 0;
+        int rechts = size();
+        while (links < rechts) {
+            int mitte = (links + rechts) >>> 1;
+            if (tage.get(mitte) < epochDay) {
+                links = mitte + 1;
+            } else {
+                rechts = mitte;
+            }
+        }
+        return links;
+    }
+
+    /**
+     * Ausschnitt [von, bis) ohne Kopie.
+     */
+    public KursReihe slice(int von, int bis) {
+        if (von < 0 || bis > size() || von > bis) {
+            throw new IndexOutOfBoundsException("Ausschnitt " + von + ".." + bis + " bei " + size() + " Kursen");
+        }
+        return new KursReihe(tage.slice(von, bis - von), kurse.slice(von, bis - von));
+    }
+
+    /**
+     * Ausschnitt mit allen Kursen von (inklusive) bis bis (inklusive), ohne Kopie.
+     */
+    public KursReihe zwischen(LocalDate von, LocalDate bis) {
+        int start = indexAb((int) von.toEpochDay());
+        int ende = indexAb((int) bis.toEpochDay() + 1);
+        return slice(start, Math.max(start, ende));
+    }
+}
@@ -0,0 +1,70 @@
+package de.htw.berlin.webtech.etf.service.projection;
+
+/**
+ * Zinseszins-Rechner fuer Sparplaene.
+ *
+ * Rechnet bewusst mit primitiven doubles statt BigDecimal: die Schleife erzeugt
+ * keinen Muell pro Monat, nur das Ergebnis-Array wird einmal angelegt.
+ * Einzahlung am Monatsanfang, Verzinsung am Monatsende (vorschuessige Rente).
+ */
+public final class ProjectionCalculator {
+
+    /** Obergrenze fuer Projektionen: 100 Jahre. */
+    public static final int MAX_MONATE = 100 * 12;
+
+    private ProjectionCalculator() {
+    }
+
+    /**
+     * Rechnet eine nominale Jahresrendite (z.B. 0.07) in den Monatszins um.
+     */
+    public static double monatszins(double jahresRendite) {
+        return jahresRendite / 12.0;
+    }
+
+    /**
+     * Schreibt den Depotwert nach jedem Monat in ziel[0..monate-1].
+     *
+     * @param rate       Monatliche Sparrate
+     * @param monatszins Zins pro Monat (z.B. 0.07 / 12)
+     * @param monate     Anzahl Monate
+     * @param ziel       Puffer mit mindestens monate Eintraegen
+     */
+    public static void verlauf(double rate, double monatszins, int monate, double[] ziel) {
+        double faktor = 1.0 + monatszins;
+        double wert = 0.0;
+        for (int m = 0; m < monate; m++) {
+            wert = (wert + rate) * faktor;
+            ziel[m] = wert;
+        }
+    }
+
+    /**
+     * Schreibt den Depotwert am Ende jedes Jahres in ziel[0..jahre-1].
+     * Gleiche Rechnung wie verlauf, merkt sich aber nur jeden zwoelften Monat.
+     *
+     * @param ziel Puffer mit mindestens jahre Eintraegen
+     */
+    public static void jahreswerte(double rate, double monatszins, int jahre, double[] ziel) {
+        double faktor = 1.0 + monatszins;
+        double wert = 0.0;
+        for (int j = 0; j < jahre; j++) {
+            for (int m = 0; m < 12; m++) {
+                wert = (wert + rate) * faktor;
+            }
+            ziel[j] = wert;
+        }
+    }
+
+    /**
+     * Endwert in geschlossener Form: rate * q * (q^n - 1) / i mit q = 1 + i.
+     * expm1/log1p halten die Formel auch bei sehr kleinen Zinsen genau.
+     */
+    public static double endwert(double rate, double monatszins, int monate) {
+        if (monatszins == 0.0) {
+            return rate * monate;
+        }
+        double wachstum = Math.expm1(monate * Math.log1p(monatszins));
+        return rate * (1.0 + monatszins) * wachstum / monatszins;
+    }
+}
@@ -0,0 +1,47 @@
+package de.htw.berlin.webtech.etf.service.projection;
+
+/**
+ * Gemeinsame Pruefungen fuer Projektion, Simulation und Backtest.
+ * Fehler werden als IllegalArgumentException gemeldet (im Controller 400).
+ */
+public final class SparplanParameter {
+
+    /** Laengste Laufzeit in Jahren, passend zu ProjectionCalculator.MAX_MONATE und @Max an Sparplan. */
+    public static final int MAX_LAUFZEIT_JAHRE = ProjectionCalculator.MAX_MONATE / 12;
+
+    private SparplanParameter() {
+    }
+
+    /**
+     * true wenn die Laufzeit zwischen 1 und MAX_LAUFZEIT_JAHRE liegt. Aeltere Sparplaene
+     * (vor der Obergrenze gespeichert) koennen laengere Laufzeiten haben.
+     */
+    public static boolean gueltigeLaufzeit(Integer laufzeitJahre) {
+        return laufzeitJahre != null && laufzeitJahre >= 1 && laufzeitJahre <= MAX_LAUFZEIT_JAHRE;
+    }
+
+    /**
+     * Laufzeit in Monaten.
+     *
+     * @throws IllegalArgumentException wenn die Laufzeit fehlt oder nicht zwischen 1 und MAX_LAUFZEIT_JAHRE liegt
+     */
+    public static int monate(Integer laufzeitJahre) {
+        if (!gueltigeLaufzeit(laufzeitJahre)) {
+            throw new IllegalArgumentException("Laufzeit muss zwischen 1 und "
+                    + MAX_LAUFZEIT_JAHRE + " Jahren liegen");
+        }
+        return laufzeitJahre * 12;
+    }
+
+    /**
+     * Nominale Jahresrendite.
+     *
+     * @throws IllegalArgumentException wenn die Rendite nicht endlich ist oder -100 % nicht uebersteigt
+     */
+    public static double rendite(double jahresRendite) {
+        if (Double.isNaN(jahresRendite) || Double.isInfinite(jahresRendite) || jahresRendite <= -1.0) {
+            throw new IllegalArgumentException("Rendite muss groesser als -100 % sein");
+        }
+        return jahresRendite;
+    }
+}
@@ -0,0 +1,119 @@
+package de.htw.berlin.webtech.etf.service.simulation;
+
+/**
+ * Histogramm mit logarithmisch verteilten Klassen fuer Perzentile ohne alle Werte zu speichern.
+ *
+ * Der Speicher ist fest (eine long-Zaehlung pro Klasse), egal wie viele Werte
+ * hinzukommen. Jede Klasse deckt denselben relativen Bereich ab, der Fehler
+ * eines Perzentils ist daher relativ (bei 4096 Klassen ueber 6 Dekaden ca. 0.2 %).
+ * Teil-Histogramme paralleler Aufgaben werden mit merge zusammengefuehrt.
+ */
+public final class LogHistogramm {
+
+    private final double logMin;
+    private final double skala;
+    private final long[] klassen;
+
+    // Unter- und Ueberlauf zaehlen separat
+    private long unterhalb;
+    private long oberhalb;
+
+    private long anzahl;
+    private double summe;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param untergrenze Kleinster aufgeloester Wert (> 0)
+     * @param obergrenze  Groesster aufgeloester Wert
+     * @param anzahlKlassen Anzahl Klassen zwischen den Grenzen
+     */
+    public LogHistogramm(double untergrenze, double obergrenze, int anzahlKlassen) {
+        if (!(untergrenze > 0.0) || !(obergrenze > untergrenze) || anzahlKlassen < 1) {
+            throw new IllegalArgumentException("Ungueltiger Bereich fuer Histogramm");
+        }
+        this.logMin = Math.log(untergrenze);
+        this.skala = anzahlKlassen / (Math.log(obergrenze) - logMin);
+        this.klassen = new long[anzahlKlassen];
+    }
+
+    public void add(double wert) {
+        anzahl++;
+        summe += wert;
+        min = Math.min(min, wert);
+        max = Math.max(max, wert);
+
+        if (!(wert > 0.0)) {
+            unterhalb++;
+            return;
+        }
+        double position = (Math.log(wert) - logMin) * skala;
+        if (position < 0.0) {
+            unterhalb++;
+        } else if (position >= klassen.length) {
+            oberhalb++;
+        } else {
+            klassen[(int) position]++;
+        }
+    }
+
+    /**
+     * Fuegt ein Histogramm mit denselben Grenzen hinzu.
+     */
+    public void merge(LogHistogramm other) {
+        if (other.klassen.length != klassen.length || other.logMin != logMin || other.skala != skala) {
+            throw new IllegalArgumentException("Histogramme haben unterschiedliche Grenzen");
+        }
+        for (int i = 0; i < klassen.length; i++) {
+            klassen[i] += other.klassen[i];
+        }
+        unterhalb += other.unterhalb;
+        oberhalb += other.oberhalb;
+        anzahl += other.anzahl;
+        summe += other.summe;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Perzentil nach Nearest-Rank; Ergebnis ist die geometrische Mitte der Klasse.
+     * Werte ausserhalb der Grenzen werden durch das beobachtete Minimum/Maximum abgeschaetzt.
+     *
+     * @param p zwischen 0 und 1
+     */
+    public double perzentil(double p) {
+        if (anzahl == 0) {
+            return Double.NaN;
+        }
+        long rang = Math.max(1, (long) Math.ceil(p * anzahl));
+
+        long kumuliert = unterhalb;
+        if (rang <= kumuliert) {
+            return min;
+        }
+        for (int i = 0; i < klassen.length; i++) {
+            kumuliert += klassen[i];
+            if (rang <= kumuliert) {
+                double mitte = Math.exp(logMin + (i + 0.5) / skala);
+                return Math.max(min, Math.min(max, mitte));
+            }
+        }
+        return max;
+    }
+
+    public long getAnzahl() {
+        return anzahl;
+    }
+
+    public double getMittelwert() {
+        return anzahl == 0 ? Double.NaN : summe / anzahl;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+}
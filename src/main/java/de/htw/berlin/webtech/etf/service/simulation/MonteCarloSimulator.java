@@ -0,0 +1,117 @@
+package de.htw.berlin.webtech.etf.service.simulation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte-Carlo-Simulation eines Sparplans mit zufaelligen Monatsrenditen.
+ *
+ * Monatliche Log-Rendite ~ N(mu, sigma^2) mit sigma = volatilitaet / sqrt(12) und
+ * mu = ln(1 + rendite/12) - sigma^2/2. Damit ist der Erwartungswert jedes Pfads
+ * genau die deterministische Projektion aus ProjectionCalculator.
+ *
+ * Die Pfade werden per Fork/Join parallel gerechnet:
+ * - jede Teilaufgabe hat ihren eigenen SplittableRandom (kein geteilter Zustand)
+ * - die Aufteilung haengt nur von der Anzahl Pfade ab, nicht von der Anzahl
+ *   Threads - gleicher Seed = gleiches Ergebnis, auf jedem Rechner
+ * - Ergebnisse landen direkt in einem double[], kein Boxing pro Schritt
+ */
+public final class MonteCarloSimulator {
+
+    /** Pfade pro Blatt-Aufgabe - gross genug, dass sich das Forken lohnt */
+    static final int PFADE_PRO_TASK = 1024;
+
+    private final ForkJoinPool pool;
+
+    public MonteCarloSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Simuliert die Endwerte aller Pfade.
+     *
+     * @param rate          Monatliche Sparrate
+     * @param monate        Laufzeit in Monaten
+     * @param jahresRendite Erwartete nominale Jahresrendite (z.B. 0.07)
+     * @param volatilitaet  Jaehrliche Volatilitaet (z.B. 0.15)
+     * @param pfade         Anzahl Pfade
+     * @param seed          Startwert des Zufallsgenerators
+     * @return Endwert je Pfad (unsortiert)
+     */
+    public double[] simuliere(double rate, int monate, double jahresRendite, double volatilitaet, int pfade, long seed) {
+        double sigma = volatilitaet / Math.sqrt(12.0);
+        double mu = Math.log1p(jahresRendite / 12.0) - 0.5 * sigma * sigma;
+
+        double[] endwerte = new double[pfade];
+        pool.invoke(new PfadTask(endwerte, 0, pfade, new SplittableRandom(seed), rate, monate, mu, sigma));
+        return endwerte;
+    }
+
+    /**
+     * Sortiert die Endwerte und liest die gewuenschten Perzentile ab (Nearest-Rank).
+     *
+     * @param endwerte Wird in-place sortiert
+     * @param p        Perzentile zwischen 0 und 1, z.B. 0.05, 0.5, 0.95
+     */
+    public static double[] perzentile(double[] endwerte, double... p) {
+        Arrays.sort(endwerte);
+        double[] ergebnis = new double[p.length];
+        for (int i = 0; i < p.length; i++) {
+            int index = (int) Math.ceil(p[i] * endwerte.length) - 1;
+            ergebnis[i] = endwerte[Math.max(0, Math.min(index, endwerte.length - 1))];
+        }
+        return ergebnis;
+    }
+
+    /**
+     * Rechnet die Pfade [von, bis) - teilt sich auf, solange es mehr als PFADE_PRO_TASK sind.
+     */
+    private static final class PfadTask extends RecursiveAction {
+
+        private final double[] endwerte;
+        private final int von;
+        private final int bis;
+        private final SplittableRandom random;
+        private final double rate;
+        private final int monate;
+        private final double mu;
+        private final double sigma;
+
+        PfadTask(double[] endwerte, int von, int bis, SplittableRandom random,
+                 double rate, int monate, double mu, double sigma) {
+            this.endwerte = endwerte;
+            this.von = von;
+            this.bis = bis;
+            this.random = random;
+            this.rate = rate;
+            this.monate = monate;
+            this.mu = mu;
+            this.sigma = sigma;
+        }
+
+        @Override
+        protected void compute() {
+            if (bis - von <= PFADE_PRO_TASK) {
+                rechne();
+                return;
+            }
+            int mitte = (von + bis) >>> 1;
+            // split() vor dem Forken: linke Haelfte bekommt einen neuen, unabhaengigen Generator
+            PfadTask links = new PfadTask(endwerte, von, mitte, random.split(), rate, monate, mu, sigma);
+            PfadTask rechts = new PfadTask(endwerte, mitte, bis, random, rate, monate, mu, sigma);
+            invokeAll(links, rechts);
+        }
+
+        private void rechne() {
+            for (int pfad = von; pfad < bis; pfad++) {
+                double wert = 0.0;
+                for (int m = 0; m < monate; m++) {
+                    wert = (wert + rate) * Math.exp(mu + sigma * random.nextGaussian());
+                }
+                endwerte[pfad] = wert;
+            }
+        }
+    }
+}
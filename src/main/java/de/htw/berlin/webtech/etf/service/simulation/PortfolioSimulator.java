@@ -0,0 +1,218 @@
+package de.htw.berlin.webtech.etf.service.simulation;
+
+import de.htw.berlin.webtech.etf.service.projection.ProjectionCalculator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte-Carlo-Simulation eines ganzen Portfolios mit korrelierten ETF-Renditen.
+ *
+ * Alle ETFs haben dieselbe paarweise Korrelation rho. Deshalb reicht ein
+ * Ein-Faktor-Modell statt einer Korrelationsmatrix: pro Monat ein gemeinsamer
+ * Schock Z fuer den Markt und ein eigener Z_i pro ETF, zusammen
+ * sqrt(rho) * Z + sqrt(1 - rho) * Z_i. Speicher und Rechenzeit wachsen damit
+ * nur linear mit der Anzahl ETFs. Sparplaene auf denselben ETF teilen sich
+ * denselben Schock. Ergebnis ist die Summe der Endwerte aller Positionen
+ * (jede am Ende ihrer eigenen Laufzeit).
+ *
+ * Aufbau fuer Geschwindigkeit:
+ * - Structure-of-Arrays: Raten, ETF-Index und Laufzeit der Positionen liegen in
+ *   eigenen primitiven Arrays, nach Laufzeit absteigend sortiert - aktive
+ *   Positionen sind in jedem Monat ein zusammenhaengender Anfang
+ * - Pfade werden in Bloecken zu BLOCK gerechnet; die inneren Schleifen laufen
+ *   ueber die Pfade eines Blocks und koennen vom JIT vektorisiert werden
+ * - Perzentile kommen aus einem LogHistogramm pro Aufgabe, das beim
+ *   Zusammenfuehren gemergt wird - der Speicher waechst nicht mit der Anzahl Pfade
+ * - Aufteilung und Zufallsgeneratoren wie im MonteCarloSimulator: gleicher
+ *   Seed = gleiches Ergebnis, unabhaengig von der Anzahl Threads
+ */
+public final class PortfolioSimulator {
+
+    /** Pfade pro Blatt-Aufgabe */
+    static final int PFADE_PRO_TASK = 1024;
+
+    /** Pfade, die gemeinsam durch die inneren Schleifen laufen */
+    static final int BLOCK = 64;
+
+    /** Aufloesung des Histogramms: 6 Dekaden um den Erwartungswert */
+    private static final int HISTOGRAMM_KLASSEN = 4096;
+    private static final double HISTOGRAMM_SPANNE = 1_000.0;
+
+    private final ForkJoinPool pool;
+
+    public PortfolioSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Eine Position des Portfolios (z.B. alle Sparplaene mit gleichem ETF und gleicher Laufzeit).
+     *
+     * @param etf    Index des ETFs (0 bis anzahlEtfs - 1)
+     * @param rate   Monatliche Sparrate
+     * @param monate Laufzeit in Monaten
+     */
+    public record Position(int etf, double rate, int monate) {}
+
+    /**
+     * Simuliert die Summe der Endwerte aller Positionen.
+     *
+     * @param positionen    Mindestens eine Position
+     * @param anzahlEtfs    Anzahl verschiedener ETFs
+     * @param jahresRendite Erwartete nominale Jahresrendite (fuer alle ETFs)
+     * @param volatilitaet  Jaehrliche Volatilitaet (fuer alle ETFs)
+     * @param korrelation   Korrelation zwischen zwei verschiedenen ETFs (0 bis 1)
+     * @param pfade         Anzahl Pfade
+     * @param seed          Startwert des Zufallsgenerators
+     * @return Histogramm der Portfolio-Endwerte
+     */
+    public LogHistogramm simuliere(List<Position> positionen, int anzahlEtfs, double jahresRendite,
+                                   double volatilitaet, double korrelation, int pfade, long seed) {
+        Modell modell = new Modell(positionen, anzahlEtfs, jahresRendite, volatilitaet, korrelation);
+        return pool.invoke(new PfadTask(modell, 0, pfade, new SplittableRandom(seed)));
+    }
+
+    /**
+     * Unveraenderliche Eingaben, von allen Aufgaben geteilt.
+     */
+    private static final class Modell {
+
+        final int etfs;
+        final int positionen;
+        final int maxMonate;
+        final double[] rate;
+        final int[] etf;
+        /** aktiv[m] = Anzahl Positionen, die im Monat m noch laufen */
+        final int[] aktiv;
+        /** Gewicht des gemeinsamen Schocks: sqrt(rho) */
+        final double markt;
+        /** Gewicht des eigenen Schocks: sqrt(1 - rho) */
+        final double eigen;
+        final double drift;
+        final double sigma;
+        final double erwartet;
+
+        Modell(List<Position> liste, int etfs, double jahresRendite, double volatilitaet, double korrelation) {
+            Position[] sortiert = liste.toArray(Position[]::new);
+            Arrays.sort(sortiert, Comparator.comparingInt(Position::monate).reversed());
+
+            this.etfs = etfs;
+            this.positionen = sortiert.length;
+            this.maxMonate = sortiert[0].monate();
+            this.rate = new double[positionen];
+            this.etf = new int[positionen];
+            this.aktiv = new int[maxMonate];
+
+            double monatszins = ProjectionCalculator.monatszins(jahresRendite);
+            double summe = 0.0;
+            for (int j = 0; j < positionen; j++) {
+                rate[j] = sortiert[j].rate();
+                etf[j] = sortiert[j].etf();
+                for (int m = 0; m < sortiert[j].monate(); m++) {
+                    aktiv[m] = j + 1;
+                }
+                summe += ProjectionCalculator.endwert(rate[j], monatszins, sortiert[j].monate());
+            }
+            this.erwartet = summe;
+
+            double rho = Math.min(Math.max(korrelation, 0.0), 1.0);
+            this.markt = Math.sqrt(rho);
+            this.eigen = Math.sqrt(1.0 - rho);
+
+            this.sigma = volatilitaet / Math.sqrt(12.0);
+            this.drift = Math.log1p(monatszins) - 0.5 * sigma * sigma;
+        }
+
+        LogHistogramm neuesHistogramm() {
+            return new LogHistogramm(erwartet / HISTOGRAMM_SPANNE, erwartet * HISTOGRAMM_SPANNE, HISTOGRAMM_KLASSEN);
+        }
+    }
+
+    /**
+     * Rechnet die Pfade [von, bis) und liefert ihr Histogramm.
+     */
+    private static final class PfadTask extends RecursiveTask<LogHistogramm> {
+
+        private final Modell modell;
+        private final int von;
+        private final int bis;
+        private final SplittableRandom random;
+
+        PfadTask(Modell modell, int von, int bis, SplittableRandom random) {
+            this.modell = modell;
+            this.von = von;
+            this.bis = bis;
+            this.random = random;
+        }
+
+        @Override
+        protected LogHistogramm compute() {
+            if (bis - von <= PFADE_PRO_TASK) {
+                return rechne();
+            }
+            int mitte = (von + bis) >>> 1;
+            PfadTask links = new PfadTask(modell, von, mitte, random.split());
+            PfadTask rechts = new PfadTask(modell, mitte, bis, random);
+            links.fork();
+            LogHistogramm ergebnis = rechts.compute();
+            ergebnis.merge(links.join());
+            return ergebnis;
+        }
+
+        private LogHistogramm rechne() {
+            int k = modell.etfs;
+            int n = modell.positionen;
+            double[] rate = modell.rate;
+            int[] etf = modell.etf;
+
+            // z: gemeinsamer Schock je Pfad, g: Wachstumsfaktoren je ETF, w: Depotwerte - je [Zeile * BLOCK + Pfad]
+            double[] z = new double[BLOCK];
+            double[] g = new double[k * BLOCK];
+            double[] w = new double[n * BLOCK];
+            LogHistogramm histogramm = modell.neuesHistogramm();
+
+            for (int start = von; start < bis; start += BLOCK) {
+                int b = Math.min(BLOCK, bis - start);
+                Arrays.fill(w, 0.0);
+
+                for (int m = 0; m < modell.maxMonate; m++) {
+                    for (int p = 0; p < b; p++) {
+                        z[p] = modell.markt * random.nextGaussian();
+                    }
+
+                    // g = exp(drift + sigma * (sqrt(rho) Z + sqrt(1 - rho) Z_i)), ETF fuer ETF ueber alle Pfade des Blocks
+                    for (int i = 0; i < k; i++) {
+                        int zeile = i * BLOCK;
+                        for (int p = 0; p < b; p++) {
+                            double schock = z[p] + modell.eigen * random.nextGaussian();
+                            g[zeile + p] = Math.exp(modell.drift + modell.sigma * schock);
+                        }
+                    }
+
+                    int aktiv = modell.aktiv[m];
+                    for (int j = 0; j < aktiv; j++) {
+                        int zeile = j * BLOCK;
+                        int wachstum = etf[j] * BLOCK;
+                        double r = rate[j];
+                        for (int p = 0; p < b; p++) {
+                            w[zeile + p] = (w[zeile + p] + r) * g[wachstum + p];
+                        }
+                    }
+                }
+
+                for (int p = 0; p < b; p++) {
+                    double summe = 0.0;
+                    for (int j = 0; j < n; j++) {
+                        summe += w[j * BLOCK + p];
+                    }
+                    histogramm.add(summe);
+                }
+            }
+            return histogramm;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package de.htw.berlin.webtech.etf.service.simulation;
+
+/**
+ * Wird geworfen, wenn bereits so viele Simulationen laufen wie erlaubt.
+ * Der Client soll es nach retryAfterSeconds erneut versuchen.
+ */
+public class SimulationRejectedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public SimulationRejectedException(int retryAfterSeconds) {
+        super("Simulation ist ausgelastet");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
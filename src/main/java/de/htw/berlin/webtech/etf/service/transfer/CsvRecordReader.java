@@ -0,0 +1,108 @@
+package de.htw.berlin.webtech.etf.service.transfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Liest CSV (RFC 4180) Datensatz fuer Datensatz, ohne die Datei zu puffern.
+ *
+ * Felder in Anfuehrungszeichen duerfen Kommas, "" und Zeilenumbrueche enthalten.
+ * Zeilenenden \n und \r\n werden akzeptiert.
+ */
+public final class CsvRecordReader {
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int pos;
+    private int limit;
+
+    private long zeile = 1;
+    private long startZeile;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Naechster Datensatz als Liste von Feldern - null am Dateiende.
+     *
+     * @throws IllegalArgumentException bei nicht geschlossenen Anfuehrungszeichen
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        startZeile = zeile;
+
+        List<String> felder = new ArrayList<>(8);
+        StringBuilder feld = new StringBuilder(32);
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IllegalArgumentException("Anfuehrungszeichen nicht geschlossen (ab Zeile " + startZeile + ")");
+                }
+                if (c == '"') {
+                    int naechstes = read();
+                    if (naechstes == '"') {
+                        feld.append('"');
+                    } else {
+                        quoted = false;
+                        c = naechstes;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        zeile++;
+                    }
+                    feld.append((char) c);
+                }
+            } else if (c < 0 || c == '\n') {
+                if (c == '\n') {
+                    zeile++;
+                }
+                felder.add(feld.toString());
+                return felder;
+            } else if (c == '\r') {
+                // \r vor \n gehoert zum Zeilenende
+                int naechstes = read();
+                if (naechstes != '\n') {
+                    feld.append('\r');
+                }
+                c = naechstes;
+                continue;
+            } else if (c == ',') {
+                felder.add(feld.toString());
+                feld.setLength(0);
+            } else if (c == '"' && feld.isEmpty()) {
+                quoted = true;
+            } else {
+                feld.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Zeilennummer (ab 1), in der der zuletzt gelesene Datensatz beginnt.
+     */
+    public long getZeile() {
+        return startZeile;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[pos++];
+    }
+}
@@ -0,0 +1,68 @@
+package de.htw.berlin.webtech.etf.service.transfer;
+
+import de.htw.berlin.webtech.etf.domain.dto.SparplanView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV-Format fuer Sparplaene (RFC 4180, Komma als Trenner, UTF-8).
+ */
+public final class SparplanCsv {
+
+    public static final String HEADER = "id,etfName,monatlicheRate,laufzeitJahre,erstelltAm";
+
+    private SparplanCsv() {
+    }
+
+    /**
+     * Schreibt einen Sparplan als CSV-Zeile inklusive Zeilenumbruch.
+     */
+    public static void writeRow(Writer writer, SparplanView sparplan) throws IOException {
+        writer.write(String.valueOf(sparplan.id()));
+        writer.write(',');
+        writeField(writer, sparplan.etfName());
+        writer.write(',');
+        writer.write(sparplan.monatlicheRate().toPlainString());
+        writer.write(',');
+        writer.write(String.valueOf(sparplan.laufzeitJahre()));
+        writer.write(',');
+        if (sparplan.erstelltAm() != null) {
+            writer.write(sparplan.erstelltAm().toString());
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Schreibt ein Textfeld; Anfuehrungszeichen nur wenn noetig.
+     * Beginnt der Wert mit einem Formelzeichen, wird ein ' vorangestellt und das Feld
+     * gequotet, damit Tabellenkalkulationen den Wert beim Oeffnen nicht als Formel auswerten.
+     */
+    static void writeField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean formel = istFormel(value);
+        if (formel) {
+            value = "'" + value;
+        }
+        boolean quote = formel || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean istFormel(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char erstes = value.charAt(0);
+        return erstes == '=' || erstes == '+' || erstes == '-' || erstes == '@'
+                || erstes == '\t' || erstes == '\r';
+    }
+}
@@ -0,0 +1,78 @@
+package de.htw.berlin.webtech.etf.service.transfer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import de.htw.berlin.webtech.etf.domain.dto.SparplanView;
+import de.htw.berlin.webtech.etf.repository.SparplanRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportiert alle Sparplaene eines Users als NDJSON oder CSV.
+ *
+ * Die Zeilen kommen ueber einen Datenbank-Cursor (Stream mit Fetch-Size) und
+ * werden direkt in den Response-Stream geschrieben - der Speicherbedarf bleibt
+ * konstant, egal wie viele Sparplaene exportiert werden.
+ * Der Stream ist nur innerhalb der Transaktion gueltig.
+ */
+@Service
+@RequiredArgsConstructor
+public class SparplanExportService {
+
+    private final SparplanRepository repository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Ein JSON-Objekt pro Zeile (application/x-ndjson).
+     */
+    @Transactional(readOnly = true)
+    public void exportNdjson(Long userId, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(SparplanView.class);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        try (Stream<SparplanView> rows = repository.streamViewsByUserId(userId)) {
+            Iterator<SparplanView> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+        generator.flush();
+    }
+
+    /**
+     * CSV mit Kopfzeile (text/csv), Format siehe SparplanCsv.
+     */
+    @Transactional(readOnly = true)
+    public void exportCsv(Long userId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(SparplanCsv.HEADER);
+        writer.write('\n');
+
+        try (Stream<SparplanView> rows = repository.streamViewsByUserId(userId)) {
+            rows.forEach(row -> {
+                try {
+                    SparplanCsv.writeRow(writer, row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,287 @@
+package de.htw.berlin.webtech.etf.service.transfer;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import de.htw.berlin.webtech.etf.domain.dto.ImportReport;
+import de.htw.berlin.webtech.etf.domain.dto.SnapshotQuelle;
+import de.htw.berlin.webtech.etf.domain.entity.Sparplan;
+import de.htw.berlin.webtech.etf.domain.entity.User;
+import de.htw.berlin.webtech.etf.service.ProjectionSnapshotService;
+import de.htw.berlin.webtech.etf.service.SparplanVersionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importiert Sparplaene aus CSV- oder NDJSON-Uploads.
+ *
+ * - die Datei wird Zeile fuer Zeile gelesen, nie komplett im Speicher gehalten
+ * - jede Zeile wird gegen dieselben Constraints wie Sparplan geprueft
+ * - gueltige Zeilen werden in Bloecken von CHUNK_SIZE in je einer eigenen
+ *   Transaktion gespeichert (JDBC-Batch, danach wird der Persistence Context geleert)
+ * - ungueltige Zeilen werden uebersprungen und im ImportReport gemeldet
+ *
+ * Ein Fehler in einer Zeile bricht den Import nicht ab; bereits gespeicherte
+ * Bloecke bleiben erhalten. Ist die CSV-Struktur selbst kaputt (Anfuehrungszeichen
+ * nicht geschlossen), endet der Import an dieser Stelle: alle Zeilen davor werden
+ * gespeichert und der Report nennt die Zeile, ab der nichts mehr importiert wurde.
+ */
+@Service
+public class SparplanImportService {
+
+    /** Zeilen pro Transaktion */
+    static final int CHUNK_SIZE = 500;
+
+    /** Nach so vielen Inserts wird geflusht (= hibernate.jdbc.batch_size) */
+    private static final int FLUSH_INTERVAL = 50;
+
+    /** Nur so viele Fehler werden einzeln gemeldet, der Rest nur gezaehlt */
+    static final int MAX_FEHLER = 100;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader ndjsonReader;
+    private final ProjectionSnapshotService snapshotService;
+    private final SparplanVersionService versionService;
+
+    public SparplanImportService(EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 ProjectionSnapshotService snapshotService,
+                                 SparplanVersionService versionService) {
+        this.entityManager = entityManager;
+        this.snapshotService = snapshotService;
+        this.versionService = versionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.ndjsonReader = objectMapper.readerFor(ImportZeile.class);
+    }
+
+    /**
+     * CSV mit Kopfzeile. Benoetigt die Spalten etfName, monatlicheRate und
+     * laufzeitJahre (Reihenfolge egal); weitere Spalten wie id oder erstelltAm
+     * werden ignoriert, damit ein Export direkt wieder importiert werden kann.
+     *
+     * @throws IllegalArgumentException wenn Kopfzeile oder Pflichtspalten fehlen (dann wird nichts gespeichert)
+     */
+    public ImportReport importCsv(InputStream in, Long userId) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("Datei ist leer");
+        }
+        Map<String, Integer> spalten = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            spalten.put(header.get(i).trim().replace("\uFEFF", ""), i);
+        }
+        int etfName = spalte(spalten, "etfName");
+        int monatlicheRate = spalte(spalten, "monatlicheRate");
+        int laufzeitJahre = spalte(spalten, "laufzeitJahre");
+
+        Import vorgang = new Import(userId);
+        List<String> felder;
+        while (true) {
+            try {
+                felder = reader.next();
+            } catch (IllegalArgumentException e) {
+                // Ab hier ist die Struktur unklar: Rest verwerfen, bisherige Zeilen trotzdem speichern
+                vorgang.fehler(reader.getZeile(), e.getMessage() + " - Rest der Datei nicht importiert");
+                break;
+            }
+            if (felder == null) {
+                break;
+            }
+            if (felder.size() == 1 && felder.get(0).isBlank()) {
+                continue;
+            }
+
+            long zeile = reader.getZeile();
+            try {
+                vorgang.add(zeile, new ImportZeile(
+                        feld(felder, etfName),
+                        parseRate(feld(felder, monatlicheRate)),
+                        parseLaufzeit(feld(felder, laufzeitJahre))
+                ));
+            } catch (NumberFormatException e) {
+                vorgang.fehler(zeile, "Keine gueltige Zahl: " + e.getMessage());
+            }
+        }
+        return vorgang.abschliessen();
+    }
+
+    /**
+     * Ein JSON-Objekt pro Zeile mit etfName, monatlicheRate und laufzeitJahre.
+     * Leere Zeilen werden uebersprungen, weitere Felder ignoriert; alles andere
+     * als ein Objekt (auch null) ist ein Fehler der Zeile.
+     */
+    public ImportReport importNdjson(InputStream in, Long userId) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        Import vorgang = new Import(userId);
+        long zeile = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            zeile++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                ImportZeile row = ndjsonReader.readValue(line);
+                if (row == null) {
+                    // Literal null - Arrays, Zahlen und Texte scheitern schon beim Lesen
+                    vorgang.fehler(zeile, "Kein JSON-Objekt");
+                    continue;
+                }
+                vorgang.add(zeile, row);
+            } catch (JsonProcessingException e) {
+                vorgang.fehler(zeile, "Kein gueltiges JSON: " + e.getOriginalMessage());
+            }
+        }
+        return vorgang.abschliessen();
+    }
+
+    private static int spalte(Map<String, Integer> spalten, String name) {
+        Integer index = spalten.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Spalte " + name + " fehlt in der Kopfzeile");
+        }
+        return index;
+    }
+
+    private static String feld(List<String> felder, int index) {
+        return index < felder.size() ? felder.get(index) : null;
+    }
+
+    private static BigDecimal parseRate(String value) {
+        return value == null || value.isBlank() ? null : new BigDecimal(value.trim());
+    }
+
+    private static Integer parseLaufzeit(String value) {
+        return value == null || value.isBlank() ? null : Integer.valueOf(value.trim());
+    }
+
+    /**
+     * Eine Zeile der Datei, wie sie im Upload steht.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ImportZeile(String etfName, BigDecimal monatlicheRate, Integer laufzeitJahre) {
+
+        Sparplan toSparplan() {
+            Sparplan sparplan = new Sparplan();
+            sparplan.setEtfName(etfName);
+            sparplan.setMonatlicheRate(monatlicheRate);
+            sparplan.setLaufzeitJahre(laufzeitJahre);
+            return sparplan;
+        }
+    }
+
+    /**
+     * Zustand eines laufenden Imports: aktueller Block, Zaehler und Fehlerliste.
+     */
+    private final class Import {
+
+        private final Long userId;
+        private final List<Sparplan> chunk = new ArrayList<>(CHUNK_SIZE);
+        private long chunkStartZeile;
+        private long letzteZeile;
+
+        private long importiert;
+        private long fehlerhaft;
+        private final List<ImportReport.Fehler> fehler = new ArrayList<>();
+
+        Import(Long userId) {
+            this.userId = userId;
+        }
+
+        void add(long zeile, ImportZeile row) {
+            Sparplan sparplan = row.toSparplan();
+            Set<ConstraintViolation<Sparplan>> violations = validator.validate(sparplan);
+            if (!violations.isEmpty()) {
+                fehler(zeile, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+
+            if (chunk.isEmpty()) {
+                chunkStartZeile = zeile;
+            }
+            letzteZeile = zeile;
+            chunk.add(sparplan);
+            if (chunk.size() == CHUNK_SIZE) {
+                speichern();
+            }
+        }
+
+        void fehler(long zeile, String meldung) {
+            fehlerhaft++;
+            if (fehler.size() < MAX_FEHLER) {
+                fehler.add(new ImportReport.Fehler(zeile, meldung));
+            }
+        }
+
+        ImportReport abschliessen() {
+            speichern();
+            return new ImportReport(importiert, fehlerhaft, List.copyOf(fehler));
+        }
+
+        private void speichern() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    User user = entityManager.getReference(User.class, userId);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        Sparplan sparplan = chunk.get(i);
+                        sparplan.setUser(user);
+                        entityManager.persist(sparplan);
+                        snapshotService.anlegen(new SnapshotQuelle(
+                                sparplan.getId(), userId, sparplan.getMonatlicheRate(), sparplan.getLaufzeitJahre()));
+                        if ((i + 1) % FLUSH_INTERVAL == 0) {
+                            entityManager.flush();
+                        }
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                    versionService.geaendert(userId);
+                });
+                importiert += chunk.size();
+            } catch (PersistenceException | DataAccessException | TransactionException e) {
+                // persist/flush am EntityManager werfen untranslated PersistenceException,
+                // das Repository (Zaehler) DataAccessException, der Commit TransactionException
+                fehlerhaft += chunk.size();
+                if (fehler.size() < MAX_FEHLER) {
+                    fehler.add(new ImportReport.Fehler(chunkStartZeile,
+                            "Zeilen " + chunkStartZeile + " bis " + letzteZeile + " konnten nicht gespeichert werden"));
+                }
+            }
+            chunk.clear();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+-- Ausgangsschema: users und sparplaene, wie es Hibernate (ddl-auto=update) bisher angelegt hat.
+-- Bestehende Datenbanken werden auf Version 1 gesetzt (spring.flyway.baseline-on-migrate).
+
+create table users (
+    id         bigint generated by default as identity primary key,
+    email      varchar(255) not null unique,
+    password   varchar(255),
+    created_at timestamp(6)
+);
+
+create table sparplaene (
+    id              bigint generated by default as identity primary key,
+    user_id         bigint       not null references users (id),
+    etf_name        varchar(200) not null,
+    monatliche_rate numeric(38, 2) not null,
+    laufzeit_jahre  integer      not null,
+    erstellt_am     date
+);
@@ -0,0 +1,4 @@
+-- Versionsspalte fuer optimistische Sperren (Sparplan.version, If-Match).
+-- Mit konstantem Default ist das in PostgreSQL nur eine Aenderung der Metadaten.
+
+alter table sparplaene add column version bigint default 0 not null;
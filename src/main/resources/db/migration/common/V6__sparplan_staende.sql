@@ -0,0 +1,7 @@
+-- Aenderungszaehler pro User fuer die ETags der Sparplan-Liste (SparplanStand).
+-- Zeilen entstehen bei der ersten Aenderung, bestehende User starten ohne Zeile (Stand 0).
+
+create table sparplan_staende (
+    user_id bigint primary key references users (id),
+    stand   bigint not null
+);
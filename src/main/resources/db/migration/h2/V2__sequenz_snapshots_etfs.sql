@@ -0,0 +1,22 @@
+-- Sequenz fuer Sparplan-IDs (allocationSize 50), Projektions-Snapshots und ETF-Stammdaten.
+
+create sequence if not exists sparplaene_seq start with 1 increment by 50;
+
+create table if not exists projection_snapshots (
+    sparplan_id     bigint primary key,
+    user_id         bigint           not null,
+    jahres_rendite  double precision not null,
+    monatliche_rate numeric(38, 2)   not null,
+    laufzeit_jahre  integer          not null,
+    eingezahlt      double precision not null,
+    endwert         double precision not null,
+    jahreswerte     varbinary(800)   not null,
+    berechnet_am    timestamp(6) with time zone not null
+);
+
+create table if not exists etfs (
+    isin varchar(12) primary key,
+    name varchar(200) not null
+);
+
+create index if not exists idx_etfs_name on etfs (name);
@@ -0,0 +1,3 @@
+-- Besitzer-Abfragen (where user_id = ? [and id ...] order by id) ueber einen Index statt Scan.
+
+create index if not exists idx_sparplaene_user_id_id on sparplaene (user_id, id);
@@ -0,0 +1,6 @@
+-- Email eindeutig ohne Beachtung der Gross-/Kleinschreibung.
+-- H2 kennt keine Ausdrucks-Indexe, daher ueber eine berechnete Spalte.
+
+alter table users add column if not exists email_lower varchar(255) generated always as (lower(email));
+
+create unique index if not exists ux_users_email_lower on users (email_lower);
@@ -0,0 +1,29 @@
+-- Sequenz fuer Sparplan-IDs (allocationSize 50), Projektions-Snapshots und ETF-Stammdaten.
+-- "if not exists": ddl-auto=update kann Teile davon schon angelegt haben.
+
+create sequence if not exists sparplaene_seq start with 1 increment by 50;
+
+-- Bisher vergebene IDs (Identity) duerfen nicht noch einmal aus der Sequenz kommen.
+-- Hibernate nutzt den Sequenzwert als Obergrenze eines Blocks von 50 IDs.
+select setval('sparplaene_seq', greatest(
+        (select last_value from sparplaene_seq),
+        (select coalesce(max(id), 0) + 50 from sparplaene)));
+
+create table if not exists projection_snapshots (
+    sparplan_id     bigint primary key,
+    user_id         bigint           not null,
+    jahres_rendite  double precision not null,
+    monatliche_rate numeric(38, 2)   not null,
+    laufzeit_jahre  integer          not null,
+    eingezahlt      double precision not null,
+    endwert         double precision not null,
+    jahreswerte     bytea            not null,
+    berechnet_am    timestamp(6) with time zone not null
+);
+
+create table if not exists etfs (
+    isin varchar(12) primary key,
+    name varchar(200) not null
+);
+
+create index if not exists idx_etfs_name on etfs (name);
@@ -0,0 +1,9 @@
+-- Besitzer-Abfragen (where user_id = ? [and id ...] order by id) ueber einen Index statt Scan.
+-- concurrently: die Tabelle bleibt waehrend des Aufbaus beschreibbar
+-- (Flyway fuehrt dieses Skript deshalb ausserhalb einer Transaktion aus).
+-- Ein abgebrochener Aufbau hinterlaesst einen ungueltigen Index - deshalb vorher entfernen
+-- statt "if not exists", das ihn stillschweigend behalten wuerde.
+
+drop index concurrently if exists idx_sparplaene_user_id_id;
+
+create index concurrently idx_sparplaene_user_id_id on sparplaene (user_id, id);
@@ -0,0 +1,16 @@
+-- Email eindeutig ohne Beachtung der Gross-/Kleinschreibung.
+-- concurrently: die Tabelle bleibt waehrend des Aufbaus beschreibbar.
+
+-- Doppelte Emails (nur Gross-/Kleinschreibung verschieden) zuerst melden: sonst scheitert
+-- der Indexaufbau mittendrin. Welcher Account bleibt, muss von Hand entschieden werden.
+do $$
+begin
+    if exists (select 1 from users group by lower(email) having count(*) > 1) then
+        raise exception 'users.email: Eintraege unterscheiden sich nur in Gross-/Kleinschreibung, vor der Migration bereinigen';
+    end if;
+end $$;
+
+-- Rest eines abgebrochenen Aufbaus (ungueltiger Index) entfernen
+drop index concurrently if exists ux_users_email_lower;
+
+create unique index concurrently ux_users_email_lower on users (lower(email));
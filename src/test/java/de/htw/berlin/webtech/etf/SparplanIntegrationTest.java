@@ -3,17 +3,24 @@ package de.htw.berlin.webtech.etf;
 import de.htw.berlin.webtech.etf.domain.entity.Sparplan;
 import de.htw.berlin.webtech.etf.controller.AuthController.RegisterRequest;
 import de.htw.berlin.webtech.etf.controller.AuthController.LoginRequest;
+import de.htw.berlin.webtech.etf.service.SparplanVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class SparplanIntegrationTest {
@@ -21,7 +28,17 @@ class SparplanIntegrationTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SparplanVersionService versionService;
+
     private String jwtToken;
+    private Long userId;
     private String email;
     private final String password = "password123";
 
@@ -39,6 +56,7 @@ class SparplanIntegrationTest {
 
         if (registerResponse.getStatusCode() == HttpStatus.CREATED && registerResponse.getBody() != null) {
             jwtToken = (String) registerResponse.getBody().get("token");
+            userId = ((Number) registerResponse.getBody().get("userId")).longValue();
         }
 
         // 2) Falls kein Token (oder Register-Flow anders): Login versuchen
@@ -101,6 +119,545 @@ class SparplanIntegrationTest {
         assertThat(getResponse.getBody().length).isGreaterThan(0);
     }
 
+    @Test
+    void shouldRejectLaufzeitAboveHundredYears() {
+        Sparplan sparplan = new Sparplan();
+        sparplan.setEtfName("MSCI World");
+        sparplan.setMonatlicheRate(new BigDecimal("100.00"));
+        sparplan.setLaufzeitJahre(150);
+
+        ResponseEntity<String> response = restTemplate.exchange("/api/sparplaene", HttpMethod.POST,
+                new HttpEntity<>(sparplan, createAuthHeaders()), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldPaginateSparplaeneWithCursor() {
+        for (int i = 0; i < 3; i++) {
+            Sparplan sparplan = new Sparplan();
+            sparplan.setEtfName("ETF " + i);
+            sparplan.setMonatlicheRate(new BigDecimal("50.00"));
+            sparplan.setLaufzeitJahre(10);
+            restTemplate.exchange("/api/sparplaene", HttpMethod.POST,
+                    new HttpEntity<>(sparplan, createAuthHeaders()), Sparplan.class);
+        }
+
+        HttpEntity<Void> getRequest = new HttpEntity<>(createAuthHeaders());
+
+        ResponseEntity<Sparplan[]> firstPage = restTemplate.exchange(
+                "/api/sparplaene?size=2", HttpMethod.GET, getRequest, Sparplan[].class);
+
+        assertThat(firstPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(firstPage.getBody()).hasSize(2);
+        String cursor = firstPage.getHeaders().getFirst("X-Next-Cursor");
+        assertThat(cursor).isEqualTo(firstPage.getBody()[1].getId().toString());
+
+        ResponseEntity<Sparplan[]> secondPage = restTemplate.exchange(
+                "/api/sparplaene?size=2&cursor=" + cursor, HttpMethod.GET, getRequest, Sparplan[].class);
+
+        assertThat(secondPage.getBody()).hasSize(1);
+        assertThat(secondPage.getBody()[0].getId()).isGreaterThan(Long.parseLong(cursor));
+        assertThat(secondPage.getHeaders().getFirst("X-Next-Cursor")).isNull();
+    }
+
+    @Test
+    void shouldDistinguishForbiddenAndNotFound() {
+        Sparplan sparplan = new Sparplan();
+        sparplan.setEtfName("MSCI World");
+        sparplan.setMonatlicheRate(new BigDecimal("100.00"));
+        sparplan.setLaufzeitJahre(20);
+        Long id = restTemplate.exchange("/api/sparplaene", HttpMethod.POST,
+                new HttpEntity<>(sparplan, createAuthHeaders()), Sparplan.class).getBody().getId();
+
+        // Zweiter User darf den Sparplan weder lesen, aendern noch loeschen
+        String otherToken = (String) restTemplate.postForEntity("/api/auth/register",
+                new RegisterRequest("other" + System.nanoTime() + "@example.com", password), Map.class)
+                .getBody().get("token");
+        HttpHeaders otherHeaders = new HttpHeaders();
+        otherHeaders.setContentType(MediaType.APPLICATION_JSON);
+        otherHeaders.setBearerAuth(otherToken);
+
+        assertThat(restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.GET,
+                new HttpEntity<>(otherHeaders), String.class).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.PUT,
+                new HttpEntity<>(sparplan, otherHeaders), String.class).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.DELETE,
+                new HttpEntity<>(otherHeaders), String.class).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+
+        // Besitzer aendert und loescht, danach 404
+        sparplan.setMonatlicheRate(new BigDecimal("150.00"));
+        ResponseEntity<Sparplan> updated = restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.PUT,
+                new HttpEntity<>(sparplan, createAuthHeaders()), Sparplan.class);
+        assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(updated.getBody().getMonatlicheRate()).isEqualByComparingTo("150.00");
+        assertThat(updated.getBody().getErstelltAm()).isNotNull();
+
+        assertThat(restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.DELETE,
+                new HttpEntity<>(createAuthHeaders()), Void.class).getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), String.class).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void shouldAnswerConditionalGetWith304UntilSparplaeneChange() {
+        Sparplan sparplan = new Sparplan();
+        sparplan.setEtfName("MSCI World");
+        sparplan.setMonatlicheRate(new BigDecimal("100.00"));
+        sparplan.setLaufzeitJahre(20);
+        Long id = restTemplate.exchange("/api/sparplaene", HttpMethod.POST,
+                new HttpEntity<>(sparplan, createAuthHeaders()), Sparplan.class).getBody().getId();
+
+        ResponseEntity<Sparplan[]> list = restTemplate.exchange("/api/sparplaene", HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), Sparplan[].class);
+        String etag = list.getHeaders().getETag();
+        assertThat(etag).isNotNull();
+        assertThat(list.getHeaders().getCacheControl()).contains("no-cache");
+
+        // Unveraendert: 304 fuer Liste und Detail
+        HttpHeaders conditional = createAuthHeaders();
+        conditional.setIfNoneMatch(etag);
+        ResponseEntity<String> notModified = restTemplate.exchange("/api/sparplaene", HttpMethod.GET,
+                new HttpEntity<>(conditional), String.class);
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getBody()).isNull();
+        String detailEtag = restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), String.class).getHeaders().getETag();
+        HttpHeaders conditionalDetail = createAuthHeaders();
+        conditionalDetail.setIfNoneMatch(detailEtag);
+        assertThat(restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.GET,
+                new HttpEntity<>(conditionalDetail), String.class).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        // Nach einer Aenderung passt der alte ETag nicht mehr
+        sparplan.setMonatlicheRate(new BigDecimal("120.00"));
+        restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.PUT,
+                new HttpEntity<>(sparplan, createAuthHeaders()), Sparplan.class);
+        ResponseEntity<Sparplan[]> changed = restTemplate.exchange("/api/sparplaene", HttpMethod.GET,
+                new HttpEntity<>(conditional), Sparplan[].class);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(changed.getBody()).extracting(Sparplan::getMonatlicheRate)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("120.00"));
+
+        // Auch Loeschen aendert den aus der Datenbank gelesenen Stand
+        HttpHeaders afterUpdate = createAuthHeaders();
+        afterUpdate.setIfNoneMatch(changed.getHeaders().getETag());
+        restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.DELETE,
+                new HttpEntity<>(createAuthHeaders()), Void.class);
+        assertThat(restTemplate.exchange("/api/sparplaene", HttpMethod.GET,
+                new HttpEntity<>(afterUpdate), String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void shouldChangeListEtagWhenLowerIdIsCreatedAndVersionZeroPlanDeleted() {
+        assertThat(userId).isNotNull();
+        // Eine andere Instanz reserviert sich einen ID-Block (allocationSize 50) ...
+        Long fremdeId = jdbcTemplate.queryForObject("select next value for sparplaene_seq", Long.class);
+
+        // ... diese Instanz legt danach mehr Sparplaene an, als ihr eigener Block fasst
+        List<Map<String, Object>> neue = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            neue.add(Map.of("etfName", "MSCI World", "monatlicheRate", 100, "laufzeitJahre", 20));
+        }
+        Sparplan[] angelegt = restTemplate.exchange("/api/sparplaene/batch", HttpMethod.POST,
+                new HttpEntity<>(Map.of("sparplaene", neue), createAuthHeaders()), Sparplan[].class).getBody();
+        assertThat(angelegt).extracting(Sparplan::getId).anyMatch(id -> id > fremdeId);
+        String etag = restTemplate.exchange("/api/sparplaene", HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), String.class).getHeaders().getETag();
+
+        // Die andere Instanz legt einen Sparplan unterhalb der groessten id an (eigene Transaktion) ...
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("""
+                    insert into sparplaene (id, user_id, etf_name, monatliche_rate, laufzeit_jahre, erstellt_am, version)
+                    values (?, ?, 'FTSE All-World', 50.00, 10, current_date, 0)""", fremdeId, userId);
+            versionService.geaendert(userId);
+        });
+        // ... und ein Sparplan mit Version 0 wird geloescht: Anzahl, groesste id und Versionssumme wie vorher
+        Long geloescht = angelegt[0].getId();
+        restTemplate.exchange("/api/sparplaene/" + geloescht, HttpMethod.DELETE,
+                new HttpEntity<>(createAuthHeaders()), Void.class);
+
+        HttpHeaders conditional = createAuthHeaders();
+        conditional.setIfNoneMatch(etag);
+        ResponseEntity<Sparplan[]> list = restTemplate.exchange("/api/sparplaene", HttpMethod.GET,
+                new HttpEntity<>(conditional), Sparplan[].class);
+        assertThat(list.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(list.getBody()).extracting(Sparplan::getId).contains(fremdeId).doesNotContain(geloescht);
+    }
+
+    @Test
+    void shouldRejectUpdateWithStaleIfMatch() {
+        Sparplan sparplan = new Sparplan();
+        sparplan.setEtfName("MSCI World");
+        sparplan.setMonatlicheRate(new BigDecimal("100.00"));
+        sparplan.setLaufzeitJahre(20);
+        Long id = restTemplate.exchange("/api/sparplaene", HttpMethod.POST,
+                new HttpEntity<>(sparplan, createAuthHeaders()), Sparplan.class).getBody().getId();
+
+        ResponseEntity<Sparplan> detail = restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), Sparplan.class);
+        String etag = detail.getHeaders().getETag();
+        assertThat(detail.getBody().getVersion()).isZero();
+
+        // Erstes Update mit passender Version gewinnt, die Version steigt
+        HttpHeaders ifMatch = createAuthHeaders();
+        ifMatch.setIfMatch(etag);
+        sparplan.setMonatlicheRate(new BigDecimal("150.00"));
+        ResponseEntity<Sparplan> first = restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.PUT,
+                new HttpEntity<>(sparplan, ifMatch), Sparplan.class);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getBody().getVersion()).isEqualTo(1L);
+        assertThat(first.getHeaders().getETag()).isEqualTo("\"1\"");
+
+        // Zweites Update mit dem alten ETag: 412, nichts wird ueberschrieben
+        sparplan.setMonatlicheRate(new BigDecimal("175.00"));
+        assertThat(restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.PUT,
+                new HttpEntity<>(sparplan, ifMatch), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), Sparplan.class).getBody().getMonatlicheRate())
+                .isEqualByComparingTo("150.00");
+
+        // If-Match: * und ohne If-Match: ohne Versionspruefung
+        HttpHeaders anyVersion = createAuthHeaders();
+        anyVersion.setIfMatch("*");
+        assertThat(restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.PUT,
+                new HttpEntity<>(sparplan, anyVersion), String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void shouldCreateUpdateAndDeleteSparplaeneInBatch() {
+        List<Sparplan> sparplaene = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Sparplan sparplan = new Sparplan();
+            sparplan.setEtfName("Batch ETF " + i);
+            sparplan.setMonatlicheRate(new BigDecimal("25.00"));
+            sparplan.setLaufzeitJahre(5);
+            sparplaene.add(sparplan);
+        }
+
+        ResponseEntity<Sparplan[]> created = restTemplate.exchange("/api/sparplaene/batch", HttpMethod.POST,
+                new HttpEntity<>(Map.of("sparplaene", sparplaene), createAuthHeaders()), Sparplan[].class);
+
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(created.getBody()).hasSize(120);
+        assertThat(created.getBody()).allSatisfy(sparplan -> assertThat(sparplan.getId()).isNotNull());
+
+        Sparplan first = created.getBody()[0];
+        first.setMonatlicheRate(new BigDecimal("30.00"));
+        ResponseEntity<Sparplan[]> updated = restTemplate.exchange("/api/sparplaene/batch", HttpMethod.PUT,
+                new HttpEntity<>(Map.of("sparplaene", List.of(first)), createAuthHeaders()), Sparplan[].class);
+
+        assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(updated.getBody()[0].getMonatlicheRate()).isEqualByComparingTo("30.00");
+
+        List<Long> ids = Arrays.stream(created.getBody()).map(Sparplan::getId).toList();
+        ResponseEntity<Map> deleted = restTemplate.exchange("/api/sparplaene/batch", HttpMethod.DELETE,
+                new HttpEntity<>(Map.of("ids", ids), createAuthHeaders()), Map.class);
+
+        assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(deleted.getBody().get("geloescht")).isEqualTo(120);
+    }
+
+    @Test
+    void shouldRejectInvalidBatch() {
+        Sparplan invalid = new Sparplan();
+        invalid.setEtfName("");
+        invalid.setMonatlicheRate(new BigDecimal("0.00"));
+        invalid.setLaufzeitJahre(0);
+
+        ResponseEntity<String> response = restTemplate.exchange("/api/sparplaene/batch", HttpMethod.POST,
+                new HttpEntity<>(Map.of("sparplaene", List.of(invalid)), createAuthHeaders()), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldKeepProjectionSnapshotInSyncWithSparplan() {
+        Sparplan sparplan = new Sparplan();
+        sparplan.setEtfName("MSCI World");
+        sparplan.setMonatlicheRate(new BigDecimal("100.00"));
+        sparplan.setLaufzeitJahre(10);
+        Long id = restTemplate.exchange("/api/sparplaene", HttpMethod.POST,
+                new HttpEntity<>(sparplan, createAuthHeaders()), Sparplan.class).getBody().getId();
+
+        ResponseEntity<Map> milestones = restTemplate.exchange("/api/sparplaene/" + id + "/projection/jahre",
+                HttpMethod.GET, new HttpEntity<>(createAuthHeaders()), Map.class);
+        ResponseEntity<Map> projection = restTemplate.exchange("/api/sparplaene/" + id + "/projection?nurEndwert=true",
+                HttpMethod.GET, new HttpEntity<>(createAuthHeaders()), Map.class);
+
+        assertThat(milestones.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(milestones.getBody().get("jahre")).isEqualTo(10);
+        assertThat((List<?>) milestones.getBody().get("jahreswerte")).hasSize(10);
+        assertThat((Double) milestones.getBody().get("endwert"))
+                .isCloseTo((Double) projection.getBody().get("endwert"), within(1e-6));
+
+        sparplan.setLaufzeitJahre(5);
+        restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.PUT,
+                new HttpEntity<>(sparplan, createAuthHeaders()), Sparplan.class);
+
+        ResponseEntity<Map> updated = restTemplate.exchange("/api/sparplaene/" + id + "/projection/jahre",
+                HttpMethod.GET, new HttpEntity<>(createAuthHeaders()), Map.class);
+        assertThat((List<?>) updated.getBody().get("jahreswerte")).hasSize(5);
+
+        restTemplate.exchange("/api/sparplaene/" + id, HttpMethod.DELETE,
+                new HttpEntity<>(createAuthHeaders()), Void.class);
+
+        ResponseEntity<Map> deleted = restTemplate.exchange("/api/sparplaene/" + id + "/projection/jahre",
+                HttpMethod.GET, new HttpEntity<>(createAuthHeaders()), Map.class);
+        assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void shouldSummarizeSparplaeneByEtf() {
+        String csv = """
+                etfName,monatlicheRate,laufzeitJahre
+                MSCI World,100.00,10
+                MSCI World,50.00,20
+                Emerging Markets,25.00,10
+                """;
+        HttpHeaders csvHeaders = createAuthHeaders();
+        csvHeaders.setContentType(MediaType.parseMediaType("text/csv"));
+        restTemplate.exchange("/api/sparplaene/import", HttpMethod.POST, new HttpEntity<>(csv, csvHeaders), Map.class);
+
+        ResponseEntity<Map> response = restTemplate.exchange("/api/sparplaene/summary?rendite=0", HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Map<String, Object> summary = response.getBody();
+        assertThat(summary.get("anzahl")).isEqualTo(3);
+        assertThat(new BigDecimal(summary.get("monatlicheRateGesamt").toString())).isEqualByComparingTo("175");
+        assertThat(summary.get("minLaufzeitJahre")).isEqualTo(10);
+        assertThat(summary.get("maxLaufzeitJahre")).isEqualTo(20);
+        assertThat((Double) summary.get("eingezahlt")).isEqualTo(27_000.0);
+        assertThat((Double) summary.get("endwert")).isEqualTo(27_000.0);
+
+        List<Map<String, Object>> etfs = (List<Map<String, Object>>) summary.get("etfs");
+        assertThat(etfs).extracting(etf -> etf.get("etfName")).containsExactly("Emerging Markets", "MSCI World");
+        assertThat(etfs.get(1).get("anzahl")).isEqualTo(2);
+        assertThat(etfs.get(1).get("maxLaufzeitJahre")).isEqualTo(20);
+    }
+
+    @Test
+    void shouldSkipLegacyPlansAboveMaxLaufzeitInSummary() {
+        assertThat(userId).isNotNull();
+        Sparplan sparplan = new Sparplan();
+        sparplan.setEtfName("MSCI World");
+        sparplan.setMonatlicheRate(new BigDecimal("100.00"));
+        sparplan.setLaufzeitJahre(10);
+        restTemplate.exchange("/api/sparplaene", HttpMethod.POST,
+                new HttpEntity<>(sparplan, createAuthHeaders()), Sparplan.class);
+        // Alter Eintrag von vor der Obergrenze (@Max(100)) - per API nicht mehr anlegbar
+        Long id = jdbcTemplate.queryForObject("select next value for sparplaene_seq", Long.class);
+        jdbcTemplate.update("""
+                insert into sparplaene (id, user_id, etf_name, monatliche_rate, laufzeit_jahre, erstellt_am, version)
+                values (?, ?, 'Alt', 10.00, 150, current_date, 0)""", id, userId);
+
+        ResponseEntity<Map> response = restTemplate.exchange("/api/sparplaene/summary?rendite=0", HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().get("anzahl")).isEqualTo(1);
+        assertThat(response.getBody().get("nichtProjiziert")).isEqualTo(1);
+        assertThat((List<?>) response.getBody().get("etfs")).hasSize(1);
+    }
+
+    @Test
+    void shouldExportSparplaeneAsNdjsonAndCsv() {
+        List<Sparplan> sparplaene = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Sparplan sparplan = new Sparplan();
+            sparplan.setEtfName(i == 0 ? "MSCI World, \"Acc\"" : "Export ETF " + i);
+            sparplan.setMonatlicheRate(new BigDecimal("50.00"));
+            sparplan.setLaufzeitJahre(10);
+            sparplaene.add(sparplan);
+        }
+        restTemplate.exchange("/api/sparplaene/batch", HttpMethod.POST,
+                new HttpEntity<>(Map.of("sparplaene", sparplaene), createAuthHeaders()), String.class);
+
+        ResponseEntity<String> ndjson = restTemplate.exchange("/api/sparplaene/export", HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), String.class);
+
+        assertThat(ndjson.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(ndjson.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+        assertThat(ndjson.getBody().split("\n")).hasSize(3)
+                .allSatisfy(line -> assertThat(line).startsWith("{\"id\":"));
+
+        ResponseEntity<String> csv = restTemplate.exchange("/api/sparplaene/export?format=csv", HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), String.class);
+
+        assertThat(csv.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String[] lines = csv.getBody().split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo("id,etfName,monatlicheRate,laufzeitJahre,erstelltAm");
+        assertThat(lines[1]).contains(",\"MSCI World, \"\"Acc\"\"\",50.00,10,");
+
+        ResponseEntity<String> unknown = restTemplate.exchange("/api/sparplaene/export?format=xml", HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), String.class);
+        assertThat(unknown.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldNeutralizeFormulasInCsvExport() {
+        List<Sparplan> sparplaene = new ArrayList<>();
+        for (String etfName : List.of("=HYPERLINK(\"http://x\")", "+1", "-1", "@SUM(A1)", "Normal")) {
+            Sparplan sparplan = new Sparplan();
+            sparplan.setEtfName(etfName);
+            sparplan.setMonatlicheRate(new BigDecimal("50.00"));
+            sparplan.setLaufzeitJahre(10);
+            sparplaene.add(sparplan);
+        }
+        restTemplate.exchange("/api/sparplaene/batch", HttpMethod.POST,
+                new HttpEntity<>(Map.of("sparplaene", sparplaene), createAuthHeaders()), String.class);
+
+        ResponseEntity<String> csv = restTemplate.exchange("/api/sparplaene/export?format=csv", HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), String.class);
+
+        assertThat(csv.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String[] lines = csv.getBody().split("\n");
+        assertThat(lines).hasSize(6);
+        assertThat(lines[1]).contains(",\"'=HYPERLINK(\"\"http://x\"\")\",50.00,");
+        assertThat(lines[2]).contains(",\"'+1\",50.00,");
+        assertThat(lines[3]).contains(",\"'-1\",50.00,");
+        assertThat(lines[4]).contains(",\"'@SUM(A1)\",50.00,");
+        assertThat(lines[5]).contains(",Normal,50.00,");
+    }
+
+    @Test
+    void shouldImportSparplaeneFromCsvAndNdjson() {
+        String csv = """
+                laufzeitJahre,etfName,monatlicheRate
+                10,"Core MSCI World, Acc",100.00
+                5,FTSE All-World,50
+                0,Ungueltig,50
+                20,Emerging Markets,abc
+                """;
+        HttpHeaders csvHeaders = createAuthHeaders();
+        csvHeaders.setContentType(MediaType.parseMediaType("text/csv"));
+
+        ResponseEntity<Map> csvReport = restTemplate.exchange("/api/sparplaene/import", HttpMethod.POST,
+                new HttpEntity<>(csv, csvHeaders), Map.class);
+
+        assertThat(csvReport.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(csvReport.getBody().get("importiert")).isEqualTo(2);
+        assertThat(csvReport.getBody().get("fehlerhaft")).isEqualTo(2);
+        List<Map<String, Object>> fehler = (List<Map<String, Object>>) csvReport.getBody().get("fehler");
+        assertThat(fehler).extracting(f -> f.get("zeile")).containsExactly(4, 5);
+
+        String ndjson = """
+                {"etfName": "S&P 500", "monatlicheRate": 75.5, "laufzeitJahre": 15}
+
+                {"etfName": "", "monatlicheRate": 75.5, "laufzeitJahre": 15}
+                kein json
+                """;
+        HttpHeaders ndjsonHeaders = createAuthHeaders();
+        ndjsonHeaders.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+
+        ResponseEntity<Map> ndjsonReport = restTemplate.exchange("/api/sparplaene/import", HttpMethod.POST,
+                new HttpEntity<>(ndjson, ndjsonHeaders), Map.class);
+
+        assertThat(ndjsonReport.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(ndjsonReport.getBody().get("importiert")).isEqualTo(1);
+        assertThat(ndjsonReport.getBody().get("fehlerhaft")).isEqualTo(2);
+
+        ResponseEntity<Sparplan[]> all = restTemplate.exchange("/api/sparplaene", HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), Sparplan[].class);
+        assertThat(all.getBody()).extracting(Sparplan::getEtfName)
+                .containsExactly("Core MSCI World, Acc", "FTSE All-World", "S&P 500");
+    }
+
+    @Test
+    void shouldImportRowsBeforeUnclosedQuoteAndReportTheRest() {
+        // given
+        String csv = """
+                etfName,monatlicheRate,laufzeitJahre
+                MSCI World,100.00,10
+                FTSE All-World,50,5
+                "Offen,50,10
+                S&P 500,75,15
+                """;
+        HttpHeaders headers = createAuthHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+
+        // when
+        ResponseEntity<Map> report = restTemplate.exchange("/api/sparplaene/import", HttpMethod.POST,
+                new HttpEntity<>(csv, headers), Map.class);
+
+        // then: die Zeilen davor sind gespeichert, der Report nennt die kaputte Zeile
+        assertThat(report.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(report.getBody().get("importiert")).isEqualTo(2);
+        assertThat(report.getBody().get("fehlerhaft")).isEqualTo(1);
+        List<Map<String, Object>> fehler = (List<Map<String, Object>>) report.getBody().get("fehler");
+        assertThat(fehler).extracting(f -> f.get("zeile")).containsExactly(4);
+        assertThat(fehler.get(0).get("meldung").toString()).contains("Rest der Datei nicht importiert");
+        assertThat(restTemplate.exchange("/api/sparplaene", HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), Sparplan[].class).getBody())
+                .extracting(Sparplan::getEtfName)
+                .containsExactly("MSCI World", "FTSE All-World");
+    }
+
+    @Test
+    void shouldReportNdjsonLinesThatAreNoObjects() {
+        // given
+        String ndjson = """
+                null
+                [1, 2]
+                42
+                {"etfName": "S&P 500", "monatlicheRate": 75.5, "laufzeitJahre": 15}
+                """;
+        HttpHeaders headers = createAuthHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+
+        // when
+        ResponseEntity<Map> report = restTemplate.exchange("/api/sparplaene/import", HttpMethod.POST,
+                new HttpEntity<>(ndjson, headers), Map.class);
+
+        // then
+        assertThat(report.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(report.getBody().get("importiert")).isEqualTo(1);
+        assertThat(report.getBody().get("fehlerhaft")).isEqualTo(3);
+        List<Map<String, Object>> fehler = (List<Map<String, Object>>) report.getBody().get("fehler");
+        assertThat(fehler).extracting(f -> f.get("zeile")).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void shouldReportChunkThatCannotBeSavedInsteadOfFailingImport() {
+        // given: gueltig fuer die Bean Validation, aber zu gross fuer numeric(38, 2) - der Block scheitert beim Flush
+        String csv = """
+                etfName,monatlicheRate,laufzeitJahre
+                MSCI World,100.00,10
+                Zu gross,1E+40,10
+                """;
+        HttpHeaders headers = createAuthHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+
+        // when
+        ResponseEntity<Map> report = restTemplate.exchange("/api/sparplaene/import", HttpMethod.POST,
+                new HttpEntity<>(csv, headers), Map.class);
+
+        // then
+        assertThat(report.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(report.getBody().get("importiert")).isEqualTo(0);
+        assertThat(report.getBody().get("fehlerhaft")).isEqualTo(2);
+        List<Map<String, Object>> fehler = (List<Map<String, Object>>) report.getBody().get("fehler");
+        assertThat(fehler).extracting(f -> f.get("meldung"))
+                .containsExactly("Zeilen 2 bis 3 konnten nicht gespeichert werden");
+        assertThat(restTemplate.exchange("/api/sparplaene", HttpMethod.GET,
+                new HttpEntity<>(createAuthHeaders()), Sparplan[].class).getBody()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectCsvImportWithoutRequiredColumns() {
+        HttpHeaders headers = createAuthHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+
+        ResponseEntity<String> response = restTemplate.exchange("/api/sparplaene/import", HttpMethod.POST,
+                new HttpEntity<>("etfName,monatlicheRate\nWorld,50\n", headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
     @Test
     void shouldReturn401WithoutAuthentication() {
         ResponseEntity<String> response = restTemplate.getForEntity(
@@ -0,0 +1,159 @@
+package de.htw.berlin.webtech.etf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lasttest: GET /api/sparplaene mit Plattform-Threads und mit virtuellen Threads.
+ *
+ * Laeuft nicht mit ./gradlew test, sondern nur mit ./gradlew loadTest.
+ * Beide Modi laufen mit demselben kleinen Connection-Pool (5) und werden
+ * nacheinander gestartet, damit sie sich nicht gegenseitig stoeren.
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = 500;
+    private static final int REQUESTS_PER_CLIENT = 40;
+    private static final int WARMUP_REQUESTS = 2_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compareThroughputAndLatency() throws Exception {
+        Ergebnis plattform = messe(false);
+        Ergebnis virtuell = messe(true);
+
+        System.out.println();
+        System.out.printf("%-20s %12s %10s %10s %8s%n", "Modus", "Anfragen/s", "p50 ms", "p99 ms", "Fehler");
+        System.out.println(plattform.zeile("Plattform-Threads"));
+        System.out.println(virtuell.zeile("Virtuelle Threads"));
+        System.out.println();
+
+        assertThat(plattform.fehler()).isZero();
+        assertThat(virtuell.fehler()).isZero();
+    }
+
+    private Ergebnis messe(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EtfSparplanerBackendApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=5",
+                        "--server.tomcat.threads.max=50",
+                        "--logging.level.root=WARN"
+                );
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            String baseUrl = "http://localhost:" + port;
+            HttpClient http = HttpClient.newBuilder().executor(clients).build();
+
+            String token = registriere(http, baseUrl);
+            legeSparplanAn(http, baseUrl, token);
+            HttpRequest get = HttpRequest.newBuilder(URI.create(baseUrl + "/api/sparplaene"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+
+            // Aufwaermen (JIT, Connection-Pool)
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                http.send(get, HttpResponse.BodyHandlers.discarding());
+            }
+
+            AtomicInteger fehler = new AtomicInteger();
+            List<Future<long[]>> ergebnisse = new ArrayList<>(CLIENTS);
+            long start = System.nanoTime();
+            for (int c = 0; c < CLIENTS; c++) {
+                ergebnisse.add(clients.submit(() -> {
+                    long[] latenzen = new long[REQUESTS_PER_CLIENT];
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long t0 = System.nanoTime();
+                        HttpResponse<Void> response = http.send(get, HttpResponse.BodyHandlers.discarding());
+                        latenzen[i] = System.nanoTime() - t0;
+                        if (response.statusCode() != 200) {
+                            fehler.incrementAndGet();
+                        }
+                    }
+                    return latenzen;
+                }));
+            }
+
+            long[] alle = new long[CLIENTS * REQUESTS_PER_CLIENT];
+            int pos = 0;
+            for (Future<long[]> ergebnis : ergebnisse) {
+                long[] latenzen = ergebnis.get();
+                System.arraycopy(latenzen, 0, alle, pos, latenzen.length);
+                pos += latenzen.length;
+            }
+            long dauer = System.nanoTime() - start;
+
+            Arrays.sort(alle);
+            return new Ergebnis(
+                    alle.length / (dauer / 1e9),
+                    perzentil(alle, 0.50) / 1e6,
+                    perzentil(alle, 0.99) / 1e6,
+                    fehler.get()
+            );
+        }
+    }
+
+    private String registriere(HttpClient http, String baseUrl) throws Exception {
+        String body = """
+                {"email": "load_%d@example.com", "password": "password123"}
+                """.formatted(System.nanoTime());
+        HttpResponse<String> response = http.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(201);
+        return (String) objectMapper.readValue(response.body(), Map.class).get("token");
+    }
+
+    private void legeSparplanAn(HttpClient http, String baseUrl, String token) throws Exception {
+        String body = """
+                {"etfName": "MSCI World", "monatlicheRate": 100.00, "laufzeitJahre": 20}
+                """;
+        HttpResponse<String> response = http.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/sparplaene"))
+                        .header("Content-Type", "application/json")
+                        .header("Authorization", "Bearer " + token)
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(201);
+    }
+
+    private static long perzentil(long[] sortiert, double p) {
+        int index = (int) Math.ceil(p * sortiert.length) - 1;
+        return sortiert[Math.max(0, Math.min(index, sortiert.length - 1))];
+    }
+
+    private record Ergebnis(double durchsatz, double p50Millis, double p99Millis, int fehler) {
+
+        String zeile(String modus) {
+            return String.format("%-20s %12.0f %10.2f %10.2f %8d", modus, durchsatz, p50Millis, p99Millis, fehler);
+        }
+    }
+}
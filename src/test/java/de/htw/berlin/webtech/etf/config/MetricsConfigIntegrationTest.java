@@ -0,0 +1,60 @@
+package de.htw.berlin.webtech.etf.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integrationstest fuer MetricsConfig und den Prometheus-Scrape-Endpoint
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.server.port=0",
+        "management.endpoints.web.exposure.include=health,prometheus"
+})
+@AutoConfigureObservability(tracing = false)
+class MetricsConfigIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    /**
+     * Test fuer /actuator/prometheus - auf dem Management-Port ohne JWT erreichbar und enthaelt die Auth-Timer
+     */
+    @Test
+    void prometheus_OnManagementPort_ShouldExposeAuthTimersWithoutAuthentication() {
+        // when
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .contains("jwt_authentication_seconds")
+                .contains("auth_password_hashing_seconds")
+                .contains("jwt_cache_size")
+                .contains("jwt_cache_gets_total{")
+                .contains("jwt_cache_evictions_total{");
+    }
+
+    /**
+     * Test fuer /actuator/prometheus - auf dem oeffentlichen API-Port nicht erreichbar
+     */
+    @Test
+    void prometheus_OnApiPort_ShouldNotBeReachable() {
+        // when
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        // then
+        assertThat(response.getStatusCode().is2xxSuccessful()).isFalse();
+    }
+}
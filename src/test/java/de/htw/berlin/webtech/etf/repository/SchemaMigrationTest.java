@@ -0,0 +1,111 @@
+package de.htw.berlin.webtech.etf.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integrationstest fuer die Flyway-Migrationen: Ausfuehrungsplaene der Besitzer-Abfragen
+ * und eindeutige Email ohne Beachtung der Gross-/Kleinschreibung.
+ * Laeuft gegen H2 oder - mit DB_URL/DB_DRIVER - gegen PostgreSQL.
+ */
+@SpringBootTest
+@Transactional
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private boolean postgres;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            postgres = connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("PostgreSQL");
+        }
+        if (postgres) {
+            // Kleine Testtabellen wuerde PostgreSQL sonst immer sequentiell lesen
+            jdbcTemplate.execute("set local enable_seqscan = off");
+        }
+    }
+
+    /**
+     * Test fuer findViewPage/findByUserId - Keyset-Seite eines Users liest ueber den Index (user_id, id)
+     */
+    @Test
+    void ownershipPageQuery_ShouldUseUserIdIndex() {
+        // when
+        String plan = explain("select id, etf_name from sparplaene where user_id = 1 and id > 0 order by id limit 101");
+
+        // then
+        assertIndexAccess(plan);
+        assertThat(plan.toLowerCase()).contains("idx_sparplaene_user_id_id");
+    }
+
+    /**
+     * Test fuer findByIdAndUserId/updateOwned/deleteOwned - Zugriff ueber einen Index
+     */
+    @Test
+    void ownershipByIdQuery_ShouldUseIndex() {
+        // when
+        String plan = explain("select id from sparplaene where id = 1 and user_id = 1");
+
+        // then
+        assertIndexAccess(plan);
+    }
+
+    /**
+     * Test fuer findByEmail - Zugriff ueber einen Index
+     */
+    @Test
+    void findByEmailQuery_ShouldUseIndex() {
+        // when
+        String plan = explain("select id from users where email = 'schema@example.com'");
+
+        // then
+        assertIndexAccess(plan);
+    }
+
+    /**
+     * Test fuer ux_users_email_lower - Email darf sich nicht nur in der Schreibweise unterscheiden
+     */
+    @Test
+    void usersEmail_ShouldBeUniqueIgnoringCase() {
+        // given
+        jdbcTemplate.update("insert into users (email, password) values ('Gross@Example.com', 'hash')");
+
+        // when / then
+        assertThatThrownBy(() ->
+                jdbcTemplate.update("insert into users (email, password) values ('gross@example.com', 'hash')"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private String explain(String sql) {
+        List<String> zeilen = jdbcTemplate.queryForList("explain " + sql, String.class);
+        return zeilen.stream().collect(Collectors.joining("\n"));
+    }
+
+    private void assertIndexAccess(String plan) {
+        if (postgres) {
+            assertThat(plan).doesNotContain("Seq Scan");
+        } else {
+            assertThat(plan).doesNotContain("tableScan");
+        }
+    }
+}
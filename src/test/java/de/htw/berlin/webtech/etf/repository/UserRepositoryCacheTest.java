@@ -0,0 +1,69 @@
+package de.htw.berlin.webtech.etf.repository;
+
+import de.htw.berlin.webtech.etf.domain.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integrationstest fuer den Second-Level- und Query-Cache von UserRepository
+ */
+@SpringBootTest
+class UserRepositoryCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Test fuer findByEmail - Zweiter Aufruf kommt ohne SQL aus dem Query-Cache
+     */
+    @Test
+    void findByEmail_SecondCall_ShouldBeServedFromCache() {
+        // given
+        String email = "cache" + System.nanoTime() + "@example.com";
+        User user = userRepository.save(User.builder().email(email).password("hash").build());
+        userRepository.findByEmail(email);
+        long queryHits = statistics.getQueryCacheHitCount();
+        long statements = statistics.getPrepareStatementCount();
+
+        // when
+        User cached = userRepository.findByEmail(email).orElseThrow();
+
+        // then
+        assertThat(cached.getId()).isEqualTo(user.getId());
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(queryHits + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+
+    /**
+     * Test fuer findByEmail - Ein neuer User macht ein gecachtes "nicht gefunden" ungueltig
+     */
+    @Test
+    void findByEmail_AfterInsert_ShouldNotReturnStaleEmptyResult() {
+        // given
+        String email = "spaeter" + System.nanoTime() + "@example.com";
+        assertThat(userRepository.findByEmail(email)).isEmpty();
+
+        // when
+        userRepository.save(User.builder().email(email).password("hash").build());
+
+        // then
+        assertThat(userRepository.findByEmail(email)).isPresent();
+    }
+}
@@ -1,12 +1,13 @@
 package de.htw.berlin.webtech.etf.security;
 
+import de.htw.berlin.webtech.etf.service.auth.JwtPrincipal;
 import de.htw.berlin.webtech.etf.service.auth.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -15,6 +16,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -31,7 +34,7 @@ class JwtAuthenticationFilterTest {
     @Mock
     private FilterChain filterChain;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     private MockHttpServletRequest request;
@@ -39,6 +42,8 @@ class JwtAuthenticationFilterTest {
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtService, meterRegistry);
         request = new MockHttpServletRequest();
         response = new MockHttpServletResponse();
         SecurityContextHolder.clearContext();
@@ -53,9 +58,7 @@ class JwtAuthenticationFilterTest {
         String token = "valid-jwt-token";
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtService.validateToken(token)).thenReturn(true);
-        when(jwtService.getUserIdFromToken(token)).thenReturn(1L);
-        when(jwtService.getEmailFromToken(token)).thenReturn("test@example.com");
+        when(jwtService.verifyToken(token)).thenReturn(Optional.of(principal()));
 
         // when
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -77,7 +80,7 @@ class JwtAuthenticationFilterTest {
         String token = "invalid-jwt-token";
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtService.validateToken(token)).thenReturn(false);
+        when(jwtService.verifyToken(token)).thenReturn(Optional.empty());
 
         // when
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -85,7 +88,6 @@ class JwtAuthenticationFilterTest {
         // then
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         assertThat(auth).isNull();
-        verify(jwtService, never()).getUserIdFromToken(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -100,7 +102,7 @@ class JwtAuthenticationFilterTest {
         // then
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         assertThat(auth).isNull();
-        verify(jwtService, never()).validateToken(anyString());
+        verify(jwtService, never()).verifyToken(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -118,7 +120,7 @@ class JwtAuthenticationFilterTest {
         // then
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         assertThat(auth).isNull();
-        verify(jwtService, never()).validateToken(anyString());
+        verify(jwtService, never()).verifyToken(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -136,7 +138,7 @@ class JwtAuthenticationFilterTest {
         // then
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         assertThat(auth).isNull();
-        verify(jwtService, never()).validateToken(anyString());
+        verify(jwtService, never()).verifyToken(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -147,9 +149,7 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_ShouldAlwaysCallFilterChain() throws ServletException, IOException {
         // given
         request.addHeader("Authorization", "Bearer valid-token");
-        when(jwtService.validateToken(anyString())).thenReturn(true);
-        when(jwtService.getUserIdFromToken(anyString())).thenReturn(1L);
-        when(jwtService.getEmailFromToken(anyString())).thenReturn("test@example.com");
+        when(jwtService.verifyToken(anyString())).thenReturn(Optional.of(principal()));
 
         // when
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -157,5 +157,48 @@ class JwtAuthenticationFilterTest {
         // then
         verify(filterChain, times(1)).doFilter(request, response);
     }
+
+    /**
+     * Test fuer doFilterInternal - Token wird nur einmal geprueft
+     */
+    @Test
+    void doFilterInternal_WithValidToken_ShouldVerifyTokenOnlyOnce() throws ServletException, IOException {
+        // given
+        request.addHeader("Authorization", "Bearer valid-token");
+        when(jwtService.verifyToken("valid-token")).thenReturn(Optional.of(principal()));
+
+        // when
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // then
+        verify(jwtService, times(1)).verifyToken("valid-token");
+        verifyNoMoreInteractions(jwtService);
+    }
+
+    /**
+     * Test fuer doFilterInternal - Dauer der Pruefung wird je Ergebnis gemessen
+     */
+    @Test
+    void doFilterInternal_ShouldRecordVerificationTimePerResult() throws ServletException, IOException {
+        // given
+        when(jwtService.verifyToken("valid-token")).thenReturn(Optional.of(principal()));
+        when(jwtService.verifyToken("invalid-token")).thenReturn(Optional.empty());
+
+        // when
+        MockHttpServletRequest valid = new MockHttpServletRequest();
+        valid.addHeader("Authorization", "Bearer valid-token");
+        jwtAuthenticationFilter.doFilterInternal(valid, response, filterChain);
+        MockHttpServletRequest invalid = new MockHttpServletRequest();
+        invalid.addHeader("Authorization", "Bearer invalid-token");
+        jwtAuthenticationFilter.doFilterInternal(invalid, response, filterChain);
+
+        // then
+        assertThat(meterRegistry.get(JwtAuthenticationFilter.TIMER).tag("result", "valid").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(JwtAuthenticationFilter.TIMER).tag("result", "invalid").timer().count()).isEqualTo(1);
+    }
+
+    private static JwtPrincipal principal() {
+        return new JwtPrincipal(1L, "test@example.com", Instant.now().plusSeconds(3600));
+    }
 }
 
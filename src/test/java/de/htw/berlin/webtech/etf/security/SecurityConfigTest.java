@@ -1,6 +1,7 @@
 package de.htw.berlin.webtech.etf.security;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -12,7 +13,7 @@ import static org.mockito.Mockito.mock;
 
 class SecurityConfigTest {
 
-    private final SecurityConfig securityConfig = new SecurityConfig(mock(JwtAuthenticationFilter.class));
+    private final SecurityConfig securityConfig = new SecurityConfig(mock(JwtAuthenticationFilter.class), new MockEnvironment());
 
     /**
      * Test fuer passwordEncoder Methode
@@ -123,5 +124,21 @@ class SecurityConfigTest {
         assertThat(config.getAllowCredentials()).isNotNull();
         assertThat(config.getAllowCredentials()).isTrue();
     }
-}
 
+    /**
+     * Test fuer corsConfigurationSource Methode - Pagination-Headers sind fuer das Frontend lesbar
+     */
+    @Test
+    void corsConfigurationSource_ShouldExposePaginationHeaders() {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        // when
+        CorsConfigurationSource source = securityConfig.corsConfigurationSource();
+        CorsConfiguration config = source.getCorsConfiguration(request);
+
+        // then
+        assertThat(config).isNotNull();
+        assertThat(config.getExposedHeaders()).contains("X-Next-Cursor", "Link", "ETag");
+    }
+}
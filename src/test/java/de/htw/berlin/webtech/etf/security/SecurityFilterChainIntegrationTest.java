@@ -44,6 +44,17 @@ class SecurityFilterChainIntegrationTest {
             .andExpect(status().isUnauthorized());
     }
 
+    /**
+     * Test fuer securityFilterChain - Actuator auf dem API-Port nur mit JWT, Health bleibt offen
+     */
+    @Test
+    void securityFilterChain_ActuatorOnApiPort_ShouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/health"))
+            .andExpect(status().isOk());
+    }
+
     /**
      * Test fuer securityFilterChain - CORS Headers bei OPTIONS Request
      */
@@ -0,0 +1,80 @@
+package de.htw.berlin.webtech.etf.service;
+
+import de.htw.berlin.webtech.etf.domain.dto.PortfolioSimulationResponse;
+import de.htw.berlin.webtech.etf.domain.dto.SparplanGruppe;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit Tests fuer die Obergrenzen der Portfolio-Simulation in SimulationService
+ */
+class SimulationServiceTest {
+
+    // max-etfs 3, max-arbeit 1.000.000 Schritte
+    private final SimulationService service = new SimulationService(
+            mock(ProjectionService.class), 0.15, 0.8, 1000, 200_000, 3, 1_000_000L, 42L, 1, 2, 1);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private static SparplanGruppe gruppe(String etf, int laufzeitJahre) {
+        return new SparplanGruppe(etf, laufzeitJahre, 1L, new BigDecimal("100.00"));
+    }
+
+    /**
+     * Test fuer simulierePortfolio - innerhalb der Grenzen wird simuliert
+     */
+    @Test
+    void simulierePortfolio_WithinLimits_ShouldSimulate() {
+        // given: 100 Pfade x 120 Monate x (2 ETFs + 2 Positionen) = 48.000 Schritte
+        List<SparplanGruppe> gruppen = List.of(gruppe("MSCI World", 10), gruppe("EM IMI", 5));
+
+        // when
+        PortfolioSimulationResponse response = service.simulierePortfolio(gruppen, 0.07, null, null, 100, 1L);
+
+        // then
+        assertThat(response.anzahlEtfs()).isEqualTo(2);
+        assertThat(response.p50()).isPositive();
+    }
+
+    /**
+     * Test fuer simulierePortfolio - zu viel Arbeit wird vor der Simulation mit 400 abgelehnt
+     */
+    @Test
+    void simulierePortfolio_TooMuchWork_ShouldReject() {
+        // given: 1.000 Pfade x 1.200 Monate x (1 ETF + 1 Position) = 2.400.000 Schritte
+        List<SparplanGruppe> gruppen = List.of(gruppe("MSCI World", 100));
+
+        // when / then
+        assertThatThrownBy(() -> service.simulierePortfolio(gruppen, 0.07, null, null, 1000, 1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("hoechstens 416 Pfade");
+    }
+
+    /**
+     * Test fuer simulierePortfolio - mehr verschiedene ETFs als max-etfs werden abgelehnt
+     */
+    @Test
+    void simulierePortfolio_TooManyEtfs_ShouldReject() {
+        // given
+        List<SparplanGruppe> gruppen = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            gruppen.add(gruppe("ETF " + i, 1));
+        }
+
+        // when / then
+        assertThatThrownBy(() -> service.simulierePortfolio(gruppen, 0.07, null, null, 10, 1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("hoechstens 3 verschiedenen ETFs");
+    }
+}
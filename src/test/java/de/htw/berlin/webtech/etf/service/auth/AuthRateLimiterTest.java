@@ -0,0 +1,99 @@
+package de.htw.berlin.webtech.etf.service.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * Unit Tests fuer AuthRateLimiter und TokenBucketLimiter
+ */
+class AuthRateLimiterTest {
+
+    private final AtomicLong uhr = new AtomicLong(123_456_789L);
+
+    private void vergehen(long sekunden) {
+        uhr.addAndGet(TimeUnit.SECONDS.toNanos(sekunden));
+    }
+
+    /**
+     * Test fuer pruefen - Burst ist frei, danach 429 mit Retry-After bis zum naechsten Token
+     */
+    @Test
+    void pruefen_AfterBurst_ShouldRejectWithRetryAfter() {
+        // given: 6 pro Minute = ein Token alle 10 Sekunden, Burst 3
+        AuthRateLimiter limiter = new AuthRateLimiter(true, 6, 3, 100, 100, 1000, uhr::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.pruefen("10.0.0.1", null);
+        }
+
+        // when
+        AuthRateLimitedException e = catchThrowableOfType(AuthRateLimitedException.class,
+                () -> limiter.pruefen("10.0.0.1", null));
+
+        // then
+        assertThat(e.getRetryAfterSeconds()).isEqualTo(10);
+        assertThat(limiter.getAbgelehnt()).isEqualTo(1);
+        limiter.pruefen("10.0.0.2", null);
+        vergehen(10);
+        limiter.pruefen("10.0.0.1", null);
+    }
+
+    /**
+     * Test fuer pruefen - Limit pro Account greift auch bei wechselnden IPs, Email normalisiert
+     */
+    @Test
+    void pruefen_SameAccountFromManyIps_ShouldBeLimited() {
+        // given
+        AuthRateLimiter limiter = new AuthRateLimiter(true, 100, 100, 2, 2, 1000, uhr::get);
+        limiter.pruefen("10.0.0.1", "Opfer@Example.com");
+        limiter.pruefen("10.0.0.2", " opfer@example.com ");
+
+        // when / then
+        assertThatThrownBy(() -> limiter.pruefen("10.0.0.3", "OPFER@example.com"))
+                .isInstanceOf(AuthRateLimitedException.class);
+        limiter.pruefen("10.0.0.3", "anderer@example.com");
+    }
+
+    /**
+     * Test fuer pruefen - abgeschaltet wird nie abgelehnt
+     */
+    @Test
+    void pruefen_WhenDisabled_ShouldNeverReject() {
+        // given
+        AuthRateLimiter limiter = new AuthRateLimiter(false, 1, 1, 1, 1, 1000, uhr::get);
+
+        // when / then
+        for (int i = 0; i < 10; i++) {
+            limiter.pruefen("10.0.0.1", "user@example.com");
+        }
+        assertThat(limiter.getAbgelehnt()).isZero();
+    }
+
+    /**
+     * Test fuer tryAcquire - Schluesselzahl bleibt begrenzt, volle Buckets werden verdraengt
+     */
+    @Test
+    void tryAcquire_ManyKeys_ShouldStayBounded() {
+        // given: 1 pro Minute, also ist jeder benutzte Bucket eine Minute lang nicht voll
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 32, uhr::get);
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("ip-" + i);
+        }
+        assertThat(limiter.size()).isLessThanOrEqualTo(32);
+
+        // when: nach einer Minute sind alle Buckets wieder voll und duerfen raus
+        vergehen(61);
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("neu-" + i);
+        }
+
+        // then
+        assertThat(limiter.size()).isLessThanOrEqualTo(32);
+        assertThat(limiter.tryAcquire("neu-0")).isPositive();
+    }
+}
@@ -0,0 +1,77 @@
+package de.htw.berlin.webtech.etf.service.auth;
+
+import de.htw.berlin.webtech.etf.domain.entity.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit Tests fuer JwtService
+ */
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-token-generation-must-be-at-least-256-bits-long";
+
+    private final JwtService jwtService = new JwtService(SECRET, JwtTokenCache.disabled());
+
+    /**
+     * Test fuer verifyToken - gueltiger Token liefert alle Daten
+     */
+    @Test
+    void verifyToken_WithValidToken_ShouldReturnPrincipal() {
+        // given
+        User user = User.builder().id(7L).email("test@example.com").build();
+        String token = jwtService.generateToken(user);
+
+        // when
+        Optional<JwtPrincipal> principal = jwtService.verifyToken(token);
+
+        // then
+        assertThat(principal).isPresent();
+        assertThat(principal.get().userId()).isEqualTo(7L);
+        assertThat(principal.get().email()).isEqualTo("test@example.com");
+        assertThat(principal.get().expiresAt()).isAfter(Instant.now());
+    }
+
+    /**
+     * Test fuer verifyToken - manipulierter Token wird abgelehnt
+     */
+    @Test
+    void verifyToken_WithTamperedToken_ShouldReturnEmpty() {
+        // given
+        String token = jwtService.generateToken(User.builder().id(7L).email("test@example.com").build());
+        int pos = token.lastIndexOf('.') + 5;
+        char replacement = token.charAt(pos) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, pos) + replacement + token.substring(pos + 1);
+
+        // when / then
+        assertThat(jwtService.verifyToken(tampered)).isEmpty();
+        assertThat(jwtService.verifyToken("kein-token")).isEmpty();
+        assertThat(jwtService.verifyToken("")).isEmpty();
+    }
+
+    /**
+     * Test fuer verifyToken - abgelaufener Token wird abgelehnt
+     */
+    @Test
+    void verifyToken_WithExpiredToken_ShouldReturnEmpty() {
+        // given
+        String token = Jwts.builder()
+                .subject("7")
+                .claim("email", "test@example.com")
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        // when / then
+        assertThat(jwtService.verifyToken(token)).isEmpty();
+        assertThat(jwtService.validateToken(token)).isFalse();
+    }
+}
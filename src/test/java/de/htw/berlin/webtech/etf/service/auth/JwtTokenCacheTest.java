@@ -0,0 +1,138 @@
+package de.htw.berlin.webtech.etf.service.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit Tests fuer JwtTokenCache
+ */
+class JwtTokenCacheTest {
+
+    private final AtomicInteger verifierCalls = new AtomicInteger();
+
+    private Function<String, Optional<JwtPrincipal>> verifier(Instant expiresAt) {
+        return token -> {
+            verifierCalls.incrementAndGet();
+            return Optional.of(new JwtPrincipal(1L, "test@example.com", expiresAt));
+        };
+    }
+
+    /**
+     * Test fuer getOrVerify - zweiter Aufruf kommt aus dem Cache
+     */
+    @Test
+    void getOrVerify_SameToken_ShouldVerifyOnlyOnce() {
+        // given
+        JwtTokenCache cache = new JwtTokenCache(true, 100);
+        var verifier = verifier(Instant.now().plusSeconds(3600));
+
+        // when
+        cache.getOrVerify("token", verifier);
+        Optional<JwtPrincipal> second = cache.getOrVerify("token", verifier);
+
+        // then
+        assertThat(second).isPresent();
+        assertThat(verifierCalls.get()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    /**
+     * Test fuer getOrVerify - abgelaufene Eintraege werden neu geprueft
+     */
+    @Test
+    void getOrVerify_ExpiredEntry_ShouldVerifyAgain() {
+        // given
+        JwtTokenCache cache = new JwtTokenCache(true, 100);
+        var verifier = verifier(Instant.now().minusSeconds(1));
+
+        // when
+        cache.getOrVerify("token", verifier);
+        cache.getOrVerify("token", verifier);
+
+        // then
+        assertThat(verifierCalls.get()).isEqualTo(2);
+        assertThat(cache.getHits()).isZero();
+    }
+
+    /**
+     * Test fuer getOrVerify - ungueltige Tokens werden nicht gemerkt
+     */
+    @Test
+    void getOrVerify_InvalidToken_ShouldNotBeCached() {
+        // given
+        JwtTokenCache cache = new JwtTokenCache(true, 100);
+
+        // when
+        cache.getOrVerify("bad", token -> Optional.empty());
+
+        // then
+        assertThat(cache.size()).isZero();
+    }
+
+    /**
+     * Test fuer getOrVerify - Groesse bleibt begrenzt
+     */
+    @Test
+    void getOrVerify_ManyTokens_ShouldStayBounded() {
+        // given
+        JwtTokenCache cache = new JwtTokenCache(true, 32);
+        var verifier = verifier(Instant.now().plusSeconds(3600));
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            cache.getOrVerify("token-" + i, verifier);
+        }
+
+        // then
+        assertThat(cache.size()).isLessThanOrEqualTo(32);
+        assertThat(cache.getEvictions()).isGreaterThan(0);
+    }
+
+    /**
+     * Test fuer getOrVerify - volle Segmente werfen zuerst abgelaufene Tokens raus
+     */
+    @Test
+    void getOrVerify_FullWithExpiredTokens_ShouldDropExpiredBeforeLru() {
+        // given
+        JwtTokenCache cache = new JwtTokenCache(true, 32);
+        var abgelaufen = verifier(Instant.now().minusSeconds(1));
+        for (int i = 0; i < 32; i++) {
+            cache.getOrVerify("alt-" + i, abgelaufen);
+        }
+
+        // when
+        var gueltig = verifier(Instant.now().plusSeconds(3600));
+        for (int i = 0; i < 32; i++) {
+            cache.getOrVerify("neu-" + i, gueltig);
+        }
+
+        // then
+        assertThat(cache.getExpirations()).isGreaterThan(0);
+        assertThat(cache.size()).isLessThanOrEqualTo(32);
+    }
+
+    /**
+     * Test fuer disabled - jeder Aufruf geht an den Verifier
+     */
+    @Test
+    void disabled_ShouldAlwaysCallVerifier() {
+        // given
+        JwtTokenCache cache = JwtTokenCache.disabled();
+        var verifier = verifier(Instant.now().plusSeconds(3600));
+
+        // when
+        cache.getOrVerify("token", verifier);
+        cache.getOrVerify("token", verifier);
+
+        // then
+        assertThat(verifierCalls.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+}
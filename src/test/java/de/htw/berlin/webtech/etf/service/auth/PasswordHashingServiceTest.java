@@ -0,0 +1,84 @@
+package de.htw.berlin.webtech.etf.service.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit Tests fuer PasswordHashingService
+ */
+class PasswordHashingServiceTest {
+
+    /**
+     * Encoder der erst weiterlaeuft, wenn der Test ihn freigibt.
+     */
+    private static PasswordEncoder blockingEncoder(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+
+    /**
+     * Test fuer encode/matches - Ergebnis kommt asynchron zurueck
+     */
+    @Test
+    void encodeAndMatches_ShouldCompleteAsynchronously() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(0);
+        PasswordHashingService service = new PasswordHashingService(blockingEncoder(release), 1, 4, 1);
+
+        // when
+        String hash = service.encode("secret").get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(hash).isEqualTo("hash:secret");
+        assertThat(service.matches("secret", hash).get(5, TimeUnit.SECONDS)).isTrue();
+        service.shutdown();
+    }
+
+    /**
+     * Test fuer encode - voller Pool lehnt sofort ab statt zu blockieren
+     */
+    @Test
+    void encode_WhenSaturated_ShouldFailFastWithRetryAfter() {
+        // given: 1 Thread, Warteschlange fuer 1 Auftrag
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordHashingService service = new PasswordHashingService(blockingEncoder(release), 1, 1, 3);
+        service.encode("a");
+        service.encode("b");
+
+        // when
+        CompletableFuture<String> rejected = service.encode("c");
+
+        // then
+        assertThatThrownBy(rejected::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(rejected.exceptionNow())
+                .isInstanceOfSatisfying(PasswordHashingRejectedException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(3));
+
+        release.countDown();
+        service.shutdown();
+    }
+}
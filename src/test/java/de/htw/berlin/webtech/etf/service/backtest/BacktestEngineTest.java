@@ -0,0 +1,121 @@
+package de.htw.berlin.webtech.etf.service.backtest;
+
+import de.htw.berlin.webtech.etf.service.kurs.KursHistorieStore;
+import de.htw.berlin.webtech.etf.service.kurs.KursReihe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit Tests fuer BacktestEngine
+ */
+class BacktestEngineTest {
+
+    private static final String ISIN = "IE00B4L5Y983";
+    private static final LocalDate START = LocalDate.of(2000, 1, 3);
+
+    @TempDir
+    Path verzeichnis;
+
+    private KursReihe reihe;
+
+    /**
+     * 20 Jahre Handelstage (Mo-Fr) mit schwankendem, steigendem Kurs.
+     */
+    @BeforeEach
+    void setUp() {
+        KursHistorieStore store = new KursHistorieStore(verzeichnis);
+        int[] tage = new int[20 * 366];
+        double[] kurse = new double[tage.length];
+        int anzahl = 0;
+        for (LocalDate tag = START; tag.isBefore(START.plusYears(20)); tag = tag.plusDays(1)) {
+            if (tag.getDayOfWeek() == DayOfWeek.SATURDAY || tag.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            tage[anzahl] = (int) tag.toEpochDay();
+            kurse[anzahl] = 100.0 * Math.exp(0.0002 * anzahl) * (1.0 + 0.1 * Math.sin(anzahl / 50.0));
+            anzahl++;
+        }
+        store.anhaengen(ISIN, tage, kurse, anzahl);
+        reihe = store.reihe(ISIN);
+    }
+
+    /**
+     * Test fuer einzeln - Kauf am ersten Handelstag ab Stichtag (Wochenende uebersprungen)
+     */
+    @Test
+    void einzeln_ShouldBuyOnFirstTradingDayOnOrAfterDate() {
+        // when - 2000-01-01 ist ein Samstag
+        BacktestEngine.Ergebnis ergebnis = BacktestEngine.einzeln(reihe, LocalDate.of(2000, 1, 1), 12, 100.0);
+
+        // then
+        assertThat(ergebnis.kaeufe()).isEqualTo(12);
+        assertThat(ergebnis.vollstaendig()).isTrue();
+        assertThat(LocalDate.ofEpochDay(ergebnis.kaufTage()[0])).isEqualTo(LocalDate.of(2000, 1, 3));
+        assertThat(ergebnis.eingezahlt()).isEqualTo(1200.0);
+        assertThat(ergebnis.anteile()).isCloseTo(erwarteteAnteile(ergebnis, 100.0), within(1e-9));
+    }
+
+    /**
+     * Test fuer einzeln - Start vor der Kurshistorie wird abgelehnt statt zum ersten Kurs zu kaufen
+     */
+    @Test
+    void einzeln_BeforeHistory_ShouldThrow() {
+        assertThatThrownBy(() -> BacktestEngine.einzeln(reihe, START.minusYears(1), 24, 50.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(START.toString());
+    }
+
+    /**
+     * Test fuer einzeln - Kurse hoeren vor Ende der Laufzeit auf
+     */
+    @Test
+    void einzeln_BeyondHistory_ShouldBeIncomplete() {
+        BacktestEngine.Ergebnis ergebnis = BacktestEngine.einzeln(reihe, START.plusYears(19), 24, 50.0);
+
+        assertThat(ergebnis.vollstaendig()).isFalse();
+        assertThat(ergebnis.kaeufe()).isLessThan(24);
+    }
+
+    /**
+     * Test fuer rollierend - jeder Startmonat stimmt mit dem einzelnen Backtest ueberein
+     */
+    @Test
+    void rollierend_ShouldMatchSingleBacktests() {
+        // when
+        BacktestEngine.Rollierend rollierend = BacktestEngine.rollierend(reihe, 10 * 12, 100.0);
+
+        // then
+        assertThat(rollierend.endwerte()).hasSize(20 * 12 - 10 * 12);
+        for (int s = 0; s < rollierend.endwerte().length; s += 17) {
+            LocalDate monat = LocalDate.ofEpochDay(rollierend.startTage()[s]).withDayOfMonth(1);
+            BacktestEngine.Ergebnis einzeln = BacktestEngine.einzeln(reihe, monat, 10 * 12, 100.0);
+            assertThat(rollierend.endwerte()[s]).isCloseTo(einzeln.endwert(), within(1e-9 * einzeln.endwert()));
+        }
+    }
+
+    /**
+     * Test fuer rollierend - Historie kuerzer als Laufzeit
+     */
+    @Test
+    void rollierend_WithShortHistory_ShouldThrow() {
+        assertThatThrownBy(() -> BacktestEngine.rollierend(reihe, 25 * 12, 100.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private double erwarteteAnteile(BacktestEngine.Ergebnis ergebnis, double rate) {
+        double summe = 0.0;
+        for (int kaufTag : ergebnis.kaufTage()) {
+            summe += rate / reihe.kurs(reihe.indexAb(kaufTag));
+        }
+        return summe;
+    }
+}
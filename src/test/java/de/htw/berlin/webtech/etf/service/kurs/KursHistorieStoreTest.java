@@ -0,0 +1,152 @@
+package de.htw.berlin.webtech.etf.service.kurs;
+
+import de.htw.berlin.webtech.etf.repository.EtfRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit Tests fuer KursHistorieStore und KursImportService
+ */
+class KursHistorieStoreTest {
+
+    private static final String ISIN = "IE00B4L5Y983";
+
+    @TempDir
+    Path verzeichnis;
+
+    /**
+     * Test fuer anhaengen - Kurse sind nach dem Neustart wieder lesbar
+     */
+    @Test
+    void anhaengen_ShouldPersistAcrossInstances() {
+        // given
+        KursHistorieStore store = new KursHistorieStore(verzeichnis);
+
+        // when
+        store.anhaengen(ISIN, new int[]{100, 101, 104}, new double[]{10.0, 10.5, 11.0}, 3);
+        KursReihe reihe = new KursHistorieStore(verzeichnis).reihe(ISIN);
+
+        // then
+        assertThat(reihe.size()).isEqualTo(3);
+        assertThat(reihe.tag(2)).isEqualTo(104);
+        assertThat(reihe.kurs(1)).isEqualTo(10.5);
+    }
+
+    /**
+     * Test fuer anhaengen - bereits gespeicherte Tage werden uebersprungen
+     */
+    @Test
+    void anhaengen_ShouldSkipKnownDays() {
+        // given
+        KursHistorieStore store = new KursHistorieStore(verzeichnis);
+        store.anhaengen(ISIN, new int[]{100, 101}, new double[]{10.0, 10.5}, 2);
+
+        // when
+        int neu = store.anhaengen(ISIN, new int[]{100, 101, 102}, new double[]{10.0, 10.5, 10.7}, 3);
+
+        // then
+        assertThat(neu).isEqualTo(1);
+        assertThat(store.reihe(ISIN).size()).isEqualTo(3);
+    }
+
+    /**
+     * Test fuer anhaengen - unsortierte Tage werden abgelehnt
+     */
+    @Test
+    void anhaengen_WithUnsortedDays_ShouldThrow() {
+        KursHistorieStore store = new KursHistorieStore(verzeichnis);
+
+        assertThatThrownBy(() -> store.anhaengen(ISIN, new int[]{5, 3}, new double[]{1.0, 1.0}, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Test fuer reihe - ungueltige ISIN (z.B. Pfadangabe) wird abgelehnt
+     */
+    @Test
+    void reihe_WithInvalidIsin_ShouldThrow() {
+        KursHistorieStore store = new KursHistorieStore(verzeichnis);
+
+        assertThatThrownBy(() -> store.reihe("../etc/passwd"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Test fuer reihe - unbekannte ISIN liefert eine leere Reihe, die nicht gemerkt wird
+     */
+    @Test
+    void reihe_UnknownIsin_ShouldNotBeCached() {
+        // given
+        KursHistorieStore store = new KursHistorieStore(verzeichnis);
+        assertThat(store.reihe(ISIN).isEmpty()).isTrue();
+
+        // when: Dateien kommen spaeter von aussen dazu
+        new KursHistorieStore(verzeichnis).anhaengen(ISIN, new int[]{100}, new double[]{10.0}, 1);
+
+        // then
+        assertThat(store.reihe(ISIN).size()).isEqualTo(1);
+    }
+
+    /**
+     * Test fuer zwischen - Bereich per binaerer Suche, Grenzen inklusive
+     */
+    @Test
+    void zwischen_ShouldReturnInclusiveRange() {
+        // given
+        KursHistorieStore store = new KursHistorieStore(verzeichnis);
+        int start = (int) LocalDate.of(2020, 1, 1).toEpochDay();
+        int[] tage = new int[100];
+        double[] kurse = new double[100];
+        for (int i = 0; i < 100; i++) {
+            tage[i] = start + 2 * i;
+            kurse[i] = 100 + i;
+        }
+        store.anhaengen(ISIN, tage, kurse, 100);
+
+        // when
+        KursReihe bereich = store.reihe(ISIN).zwischen(LocalDate.ofEpochDay(start + 3), LocalDate.ofEpochDay(start + 10));
+
+        // then
+        assertThat(bereich.size()).isEqualTo(4);
+        assertThat(bereich.tag(0)).isEqualTo(start + 4);
+        assertThat(bereich.kurs(3)).isEqualTo(105.0);
+    }
+
+    /**
+     * Test fuer importiereKurse - unsortierte CSV mit doppeltem Tag
+     */
+    @Test
+    void importiereKurse_ShouldSortAndDeduplicate() throws IOException {
+        // given
+        KursHistorieStore store = new KursHistorieStore(verzeichnis.resolve("store"));
+        KursImportService importService = new KursImportService(mock(EtfRepository.class), store, Runnable::run, "");
+        Path csv = verzeichnis.resolve(ISIN + ".csv");
+        Files.writeString(csv, """
+                datum,schluss
+                2020-01-03,11.0
+                2020-01-01,10.0
+                2020-01-02,10.2
+                2020-01-02,10.5
+                kaputt,1
+                """);
+
+        // when
+        int neu = importService.importiereKurse(ISIN, csv);
+
+        // then
+        KursReihe reihe = store.reihe(ISIN);
+        assertThat(neu).isEqualTo(3);
+        assertThat(reihe.datum(0)).isEqualTo(LocalDate.of(2020, 1, 1));
+        assertThat(reihe.kurs(1)).isEqualTo(10.5);
+        assertThat(reihe.kurs(2)).isEqualTo(11.0);
+    }
+}
@@ -0,0 +1,82 @@
+package de.htw.berlin.webtech.etf.service.projection;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit Tests fuer ProjectionCalculator
+ */
+class ProjectionCalculatorTest {
+
+    /**
+     * Test fuer endwert - geschlossene Formel stimmt mit der Monatsschleife ueberein
+     */
+    @Test
+    void endwert_ShouldMatchMonthlyLoop() {
+        // given
+        double monatszins = ProjectionCalculator.monatszins(0.07);
+        int monate = 50 * 12;
+        double[] verlauf = new double[monate];
+
+        // when
+        ProjectionCalculator.verlauf(200.0, monatszins, monate, verlauf);
+        double endwert = ProjectionCalculator.endwert(200.0, monatszins, monate);
+
+        // then
+        assertThat(endwert).isCloseTo(verlauf[monate - 1], within(1e-6 * endwert));
+    }
+
+    /**
+     * Test fuer verlauf - erster Monat: Einzahlung plus ein Monat Zinsen
+     */
+    @Test
+    void verlauf_FirstMonth_ShouldContainOneMonthOfInterest() {
+        // given
+        double[] verlauf = new double[12];
+
+        // when
+        ProjectionCalculator.verlauf(100.0, 0.01, 12, verlauf);
+
+        // then
+        assertThat(verlauf[0]).isCloseTo(101.0, within(1e-9));
+        assertThat(verlauf[11]).isGreaterThan(verlauf[10]);
+    }
+
+    /**
+     * Test fuer jahreswerte - entspricht jedem zwoelften Monat des Verlaufs
+     */
+    @Test
+    void jahreswerte_ShouldMatchEveryTwelfthMonth() {
+        // given
+        double monatszins = ProjectionCalculator.monatszins(0.05);
+        double[] verlauf = new double[10 * 12];
+        double[] jahreswerte = new double[10];
+
+        // when
+        ProjectionCalculator.verlauf(100.0, monatszins, 10 * 12, verlauf);
+        ProjectionCalculator.jahreswerte(100.0, monatszins, 10, jahreswerte);
+
+        // then
+        for (int j = 0; j < 10; j++) {
+            assertThat(jahreswerte[j]).isEqualTo(verlauf[j * 12 + 11]);
+        }
+    }
+
+    /**
+     * Test fuer endwert - ohne Zinsen nur Summe der Einzahlungen
+     */
+    @Test
+    void endwert_WithoutInterest_ShouldReturnSumOfPayments() {
+        assertThat(ProjectionCalculator.endwert(150.0, 0.0, 120)).isEqualTo(18000.0);
+    }
+
+    /**
+     * Test fuer endwert - sehr kleiner Zins bleibt numerisch stabil
+     */
+    @Test
+    void endwert_WithTinyInterest_ShouldStayCloseToSumOfPayments() {
+        assertThat(ProjectionCalculator.endwert(100.0, 1e-12, 120)).isCloseTo(12000.0, within(1e-3));
+    }
+}
@@ -0,0 +1,39 @@
+package de.htw.berlin.webtech.etf.service.projection;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit Tests fuer SparplanParameter
+ */
+class SparplanParameterTest {
+
+    /**
+     * Test fuer monate - Grenzen 1 und MAX_LAUFZEIT_JAHRE sind erlaubt, alles andere nicht
+     */
+    @Test
+    void monate_ShouldAcceptOnlyValidRange() {
+        assertThat(SparplanParameter.monate(1)).isEqualTo(12);
+        assertThat(SparplanParameter.monate(SparplanParameter.MAX_LAUFZEIT_JAHRE)).isEqualTo(ProjectionCalculator.MAX_MONATE);
+
+        assertThatThrownBy(() -> SparplanParameter.monate(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SparplanParameter.monate(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SparplanParameter.monate(SparplanParameter.MAX_LAUFZEIT_JAHRE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Test fuer rendite - -100 % und nicht endliche Werte werden abgelehnt
+     */
+    @Test
+    void rendite_ShouldRejectTotalLossAndNonFiniteValues() {
+        assertThat(SparplanParameter.rendite(0.07)).isEqualTo(0.07);
+
+        assertThatThrownBy(() -> SparplanParameter.rendite(-1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SparplanParameter.rendite(Double.NaN)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SparplanParameter.rendite(Double.POSITIVE_INFINITY))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
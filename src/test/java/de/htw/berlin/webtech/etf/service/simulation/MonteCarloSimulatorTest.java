@@ -0,0 +1,88 @@
+package de.htw.berlin.webtech.etf.service.simulation;
+
+import de.htw.berlin.webtech.etf.service.projection.ProjectionCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit Tests fuer MonteCarloSimulator
+ */
+class MonteCarloSimulatorTest {
+
+    /**
+     * Test fuer simuliere - gleicher Seed liefert unabhaengig von der Thread-Anzahl dasselbe Ergebnis
+     */
+    @Test
+    void simuliere_SameSeed_ShouldNotDependOnParallelism() {
+        // given
+        ForkJoinPool einThread = new ForkJoinPool(1);
+        ForkJoinPool vierThreads = new ForkJoinPool(4);
+
+        try {
+            // when
+            double[] a = new MonteCarloSimulator(einThread).simuliere(100.0, 120, 0.07, 0.15, 10_000, 7L);
+            double[] b = new MonteCarloSimulator(vierThreads).simuliere(100.0, 120, 0.07, 0.15, 10_000, 7L);
+
+            // then
+            assertThat(a).containsExactly(b);
+        } finally {
+            einThread.shutdown();
+            vierThreads.shutdown();
+        }
+    }
+
+    /**
+     * Test fuer simuliere - ohne Volatilitaet ist jeder Pfad die deterministische Projektion
+     */
+    @Test
+    void simuliere_WithoutVolatility_ShouldMatchClosedForm() {
+        // given
+        double erwartet = ProjectionCalculator.endwert(100.0, ProjectionCalculator.monatszins(0.07), 240);
+
+        // when
+        double[] endwerte = new MonteCarloSimulator(ForkJoinPool.commonPool())
+                .simuliere(100.0, 240, 0.07, 0.0, 3_000, 1L);
+
+        // then
+        assertThat(endwerte).allSatisfy(endwert -> assertThat(endwert).isCloseTo(erwartet, within(1e-6 * erwartet)));
+    }
+
+    /**
+     * Test fuer simuliere - Mittelwert liegt nahe an der deterministischen Projektion
+     */
+    @Test
+    void simuliere_Mean_ShouldApproximateClosedForm() {
+        // given
+        double erwartet = ProjectionCalculator.endwert(100.0, ProjectionCalculator.monatszins(0.07), 240);
+
+        // when
+        double[] endwerte = new MonteCarloSimulator(ForkJoinPool.commonPool())
+                .simuliere(100.0, 240, 0.07, 0.15, 50_000, 42L);
+        double summe = 0;
+        for (double endwert : endwerte) {
+            summe += endwert;
+        }
+
+        // then
+        assertThat(summe / endwerte.length).isCloseTo(erwartet, within(0.02 * erwartet));
+    }
+
+    /**
+     * Test fuer perzentile - Nearest-Rank auf sortierten Werten
+     */
+    @Test
+    void perzentile_ShouldUseNearestRank() {
+        // given
+        double[] werte = {5, 1, 4, 2, 3, 10, 9, 8, 7, 6};
+
+        // when
+        double[] p = MonteCarloSimulator.perzentile(werte, 0.05, 0.5, 0.95);
+
+        // then
+        assertThat(p).containsExactly(1.0, 5.0, 10.0);
+    }
+}
@@ -0,0 +1,136 @@
+package de.htw.berlin.webtech.etf.service.simulation;
+
+import de.htw.berlin.webtech.etf.service.projection.ProjectionCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit Tests fuer PortfolioSimulator und LogHistogramm
+ */
+class PortfolioSimulatorTest {
+
+    private static final List<PortfolioSimulator.Position> POSITIONEN = List.of(
+            new PortfolioSimulator.Position(0, 100.0, 240),
+            new PortfolioSimulator.Position(1, 50.0, 120),
+            new PortfolioSimulator.Position(0, 25.0, 360)
+    );
+
+    /**
+     * Test fuer simuliere - viele verschiedene ETFs kosten nur linear Speicher (keine k x k Matrix)
+     */
+    @Test
+    void simuliere_ManyEtfs_ShouldNotNeedCorrelationMatrix() {
+        // given: 20.000 ETFs waeren als Matrix 3,2 GB
+        int etfs = 20_000;
+        List<PortfolioSimulator.Position> positionen = new ArrayList<>();
+        for (int i = 0; i < etfs; i++) {
+            positionen.add(new PortfolioSimulator.Position(i, 10.0, 12));
+        }
+
+        // when
+        LogHistogramm histogramm = new PortfolioSimulator(ForkJoinPool.commonPool())
+                .simuliere(positionen, etfs, 0.07, 0.15, 0.8, 64, 1L);
+
+        // then
+        assertThat(histogramm.getAnzahl()).isEqualTo(64);
+    }
+
+    /**
+     * Test fuer simuliere - ohne Volatilitaet ist jeder Pfad die Summe der geschlossenen Formeln
+     */
+    @Test
+    void simuliere_WithoutVolatility_ShouldMatchClosedForm() {
+        // given
+        double monatszins = ProjectionCalculator.monatszins(0.07);
+        double erwartet = ProjectionCalculator.endwert(100.0, monatszins, 240)
+                + ProjectionCalculator.endwert(50.0, monatszins, 120)
+                + ProjectionCalculator.endwert(25.0, monatszins, 360);
+
+        // when
+        LogHistogramm histogramm = new PortfolioSimulator(ForkJoinPool.commonPool())
+                .simuliere(POSITIONEN, 2, 0.07, 0.0, 0.8, 2_000, 1L);
+
+        // then
+        assertThat(histogramm.getAnzahl()).isEqualTo(2_000);
+        assertThat(histogramm.getMittelwert()).isCloseTo(erwartet, within(1e-6 * erwartet));
+        assertThat(histogramm.perzentil(0.5)).isCloseTo(erwartet, within(1e-6 * erwartet));
+    }
+
+    /**
+     * Test fuer simuliere - gleicher Seed liefert unabhaengig von der Thread-Anzahl dasselbe Ergebnis
+     */
+    @Test
+    void simuliere_SameSeed_ShouldNotDependOnParallelism() {
+        // given
+        ForkJoinPool einThread = new ForkJoinPool(1);
+        ForkJoinPool vierThreads = new ForkJoinPool(4);
+
+        try {
+            // when
+            LogHistogramm a = new PortfolioSimulator(einThread).simuliere(POSITIONEN, 2, 0.07, 0.15, 0.5, 5_000, 9L);
+            LogHistogramm b = new PortfolioSimulator(vierThreads).simuliere(POSITIONEN, 2, 0.07, 0.15, 0.5, 5_000, 9L);
+
+            // then
+            assertThat(a.getMittelwert()).isEqualTo(b.getMittelwert());
+            assertThat(a.perzentil(0.05)).isEqualTo(b.perzentil(0.05));
+            assertThat(a.perzentil(0.95)).isEqualTo(b.perzentil(0.95));
+        } finally {
+            einThread.shutdown();
+            vierThreads.shutdown();
+        }
+    }
+
+    /**
+     * Test fuer simuliere - hoehere Korrelation verbreitert die Verteilung
+     */
+    @Test
+    void simuliere_HigherCorrelation_ShouldWidenDistribution() {
+        // given
+        PortfolioSimulator simulator = new PortfolioSimulator(ForkJoinPool.commonPool());
+        List<PortfolioSimulator.Position> zweiEtfs = List.of(
+                new PortfolioSimulator.Position(0, 100.0, 240),
+                new PortfolioSimulator.Position(1, 100.0, 240));
+
+        // when
+        LogHistogramm unkorreliert = simulator.simuliere(zweiEtfs, 2, 0.07, 0.15, 0.0, 20_000, 3L);
+        LogHistogramm korreliert = simulator.simuliere(zweiEtfs, 2, 0.07, 0.15, 1.0, 20_000, 3L);
+
+        // then
+        double spanneUnkorreliert = unkorreliert.perzentil(0.95) - unkorreliert.perzentil(0.05);
+        double spanneKorreliert = korreliert.perzentil(0.95) - korreliert.perzentil(0.05);
+        assertThat(spanneKorreliert).isGreaterThan(spanneUnkorreliert);
+    }
+
+    /**
+     * Test fuer LogHistogramm - Perzentile liegen nahe an den exakten Werten
+     */
+    @Test
+    void logHistogramm_ShouldApproximateExactPercentiles() {
+        // given
+        SplittableRandom random = new SplittableRandom(5L);
+        double[] werte = new double[100_000];
+        LogHistogramm links = new LogHistogramm(1.0, 1e6, 4096);
+        LogHistogramm rechts = new LogHistogramm(1.0, 1e6, 4096);
+        for (int i = 0; i < werte.length; i++) {
+            werte[i] = Math.exp(8.0 + random.nextGaussian());
+            (i % 2 == 0 ? links : rechts).add(werte[i]);
+        }
+
+        // when
+        links.merge(rechts);
+        double[] exakt = MonteCarloSimulator.perzentile(werte, 0.05, 0.5, 0.95);
+
+        // then
+        assertThat(links.getAnzahl()).isEqualTo(100_000);
+        assertThat(links.perzentil(0.05)).isCloseTo(exakt[0], within(0.003 * exakt[0]));
+        assertThat(links.perzentil(0.5)).isCloseTo(exakt[1], within(0.003 * exakt[1]));
+        assertThat(links.perzentil(0.95)).isCloseTo(exakt[2], within(0.003 * exakt[2]));
+    }
+}